@@ -1,11 +1,25 @@
 package org.jfrog.gradle.plugin.artifactory.tests;
 
+import org.apache.commons.lang3.tuple.Pair;
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.BuildTask;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.jfrog.build.client.Version;
+import org.jfrog.gradle.plugin.artifactory.Constant;
 import org.jfrog.gradle.plugin.artifactory.GradleFunctionalTestBase;
 import org.jfrog.gradle.plugin.artifactory.TestConsts;
+import org.jfrog.gradle.plugin.artifactory.utils.Utils;
 import org.jfrog.gradle.plugin.artifactory.utils.ValidationUtils;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class PluginPublishTest extends GradleFunctionalTestBase {
     @Test(dataProvider = "gradleVersions")
@@ -23,4 +37,60 @@ public class PluginPublishTest extends GradleFunctionalTestBase {
             ValidationUtils.checkArtifactsProps(artifactoryManager);
         });
     }
+
+    @Test(dataProvider = "gradleVersions")
+    public void publicationsUpToDateTest(String gradleVersion) throws IOException {
+        Utils.createTestDir(TestConsts.GRADLE_EXAMPLE_PUBLISH);
+        List<String> arguments = Arrays.asList("build", Constant.ARTIFACTORY_PUBLISH_TASK_NAME, "--build-cache", "--stacktrace");
+        BuildResult firstResult = Utils.runPluginTasks(gradleVersion, new ArrayList<>(arguments), envVars, false);
+        BuildResult secondResult = Utils.runPluginTasks(gradleVersion, new ArrayList<>(arguments), envVars, false);
+        try {
+            // Each build has its own build number and timestamp, the details that were collected and extracted are reused
+            List<String> reusedTasks = new ArrayList<>();
+            for (BuildTask task : firstResult.getTasks()) {
+                if (task.getOutcome() != TaskOutcome.SUCCESS || !isCollectOrExtractTask(task)) {
+                    continue;
+                }
+                BuildTask secondTask = secondResult.task(task.getPath());
+                assertTrue(secondTask != null && (secondTask.getOutcome() == TaskOutcome.UP_TO_DATE || secondTask.getOutcome() == TaskOutcome.FROM_CACHE),
+                        task.getPath() + " was executed again: " + (secondTask != null ? secondTask.getOutcome() : null));
+                reusedTasks.add(task.getPath());
+            }
+            assertFalse(reusedTasks.isEmpty(), "No Artifactory task was executed by the first build");
+        } finally {
+            // Cleanup
+            for (BuildResult buildResult : Arrays.asList(firstResult, secondResult)) {
+                Pair<String, String> buildDetails = Utils.getBuildDetails(buildResult);
+                Utils.cleanTestBuilds(artifactoryManager, buildDetails.getLeft(), buildDetails.getRight(), null);
+            }
+        }
+    }
+
+    @Test(dataProvider = "gradleVersions")
+    public void publicationsConfigurationCacheTest(String gradleVersion) throws IOException {
+        if (!new Version(gradleVersion).isAtLeast(TestConsts.MIN_GRADLE_VERSION_CONFIG_CACHE)) {
+            throw new SkipException("The configuration cache is not tested with Gradle " + gradleVersion);
+        }
+        Utils.createTestDir(TestConsts.GRADLE_EXAMPLE_PUBLISH);
+        List<String> arguments = Arrays.asList("clean", "build", Constant.ARTIFACTORY_PUBLISH_TASK_NAME, "--configuration-cache", "--stacktrace");
+        BuildResult firstResult = Utils.runPluginTasks(gradleVersion, new ArrayList<>(arguments), envVars, false);
+        BuildResult secondResult = Utils.runPluginTasks(gradleVersion, new ArrayList<>(arguments), envVars, false);
+        try {
+            assertTrue(firstResult.getOutput().contains("Configuration cache entry stored"), firstResult.getOutput());
+            // The second build runs from the configuration cache entry of the first one, and deploys as usual
+            assertTrue(secondResult.getOutput().contains("Reusing configuration cache"), secondResult.getOutput());
+            ValidationUtils.checkBuildResults(artifactoryManager, secondResult, localRepo);
+            ValidationUtils.checkArtifactsProps(artifactoryManager);
+        } finally {
+            // Cleanup
+            for (BuildResult buildResult : Arrays.asList(firstResult, secondResult)) {
+                Pair<String, String> buildDetails = Utils.getBuildDetails(buildResult);
+                Utils.cleanTestBuilds(artifactoryManager, buildDetails.getLeft(), buildDetails.getRight(), null);
+            }
+        }
+    }
+
+    private static boolean isCollectOrExtractTask(BuildTask task) {
+        return task.getPath().endsWith(":" + Constant.ARTIFACTORY_PUBLISH_TASK_NAME) || task.getPath().endsWith(":" + Constant.EXTRACT_MODULE_TASK_NAME);
+    }
 }
@@ -0,0 +1,154 @@
+package org.jfrog.gradle.plugin.artifactory;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.verification.DependencyVerificationMode;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jfrog.gradle.plugin.artifactory.checksum.ChecksumCache;
+import org.jfrog.gradle.plugin.artifactory.checksum.GradleCacheChecksumProvider;
+import org.jfrog.gradle.plugin.artifactory.deploy.ArtifactsDeployment;
+import org.jfrog.gradle.plugin.artifactory.deploy.TaskDeployDetails;
+import org.jfrog.gradle.plugin.artifactory.trace.Tracer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Build scoped service that holds the state shared by all the plugin's tasks, including the ones that run in workers:
+ * the checksums caches, the artifacts deployment (upload threads, Artifactory connections and metrics) and the
+ * Artifactory tasks that collected details to deploy.
+ * Gradle closes the service at the end of the build, which stops the deployment and persists the caches.
+ */
+public abstract class ArtifactoryBuildService implements BuildService<ArtifactoryBuildService.Parameters>, AutoCloseable {
+    private static final Logger log = Logging.getLogger(ArtifactoryBuildService.class);
+    private final ChecksumCache artifactsChecksumCache;
+    private final ChecksumCache dependenciesChecksumCache;
+    private final Tracer tracer;
+    // The details to deploy of the Artifactory tasks of the build, by task path
+    private final Map<String, TaskDeployDetails> collectedTasks = new ConcurrentHashMap<>();
+    private ArtifactsDeployment artifactsDeployment;
+
+    public interface Parameters extends BuildServiceParameters {
+        RegularFileProperty getArtifactsChecksumsCacheFile();
+
+        RegularFileProperty getDependenciesChecksumsCacheFile();
+
+        DirectoryProperty getGradleUserHome();
+
+        RegularFileProperty getVerificationMetadataFile();
+
+        Property<Boolean> getStrictDependencyVerification();
+
+        // Set only if tracing is enabled
+        RegularFileProperty getTraceFile();
+    }
+
+    public ArtifactoryBuildService() {
+        Parameters parameters = getParameters();
+        // Checksums of the published artifacts, kept between builds to skip hashing unchanged files
+        artifactsChecksumCache = new ChecksumCache(parameters.getArtifactsChecksumsCacheFile());
+        // Checksums of the resolved dependencies, shared by all the modules and kept in the Gradle user home.
+        // The checksums Gradle already recorded for its cached dependencies are not calculated again.
+        dependenciesChecksumCache = new ChecksumCache(parameters.getDependenciesChecksumsCacheFile(), new GradleCacheChecksumProvider(
+                parameters.getGradleUserHome().get().getAsFile(), parameters.getVerificationMetadataFile().get().getAsFile(),
+                parameters.getStrictDependencyVerification().get()));
+        tracer = new Tracer(parameters.getTraceFile().isPresent());
+    }
+
+    /**
+     * Register the service in the build of a given project, if not registered yet.
+     *
+     * @param project - the root project of the build
+     * @return the service provider
+     */
+    public static Provider<ArtifactoryBuildService> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(Constant.ARTIFACTORY_BUILD_SERVICE_NAME, ArtifactoryBuildService.class, spec -> {
+            Object maxParallelUsages = project.findProperty(Constant.MAX_PARALLEL_USAGES_PROPERTY);
+            if (maxParallelUsages != null) {
+                spec.getMaxParallelUsages().set(Integer.parseInt(maxParallelUsages.toString()));
+            }
+            Parameters parameters = spec.getParameters();
+            File gradleUserHome = project.getGradle().getGradleUserHomeDir();
+            parameters.getArtifactsChecksumsCacheFile().set(project.getLayout().getBuildDirectory().file(Constant.ARTIFACTS_CHECKSUMS_CACHE_FILE_NAME));
+            parameters.getDependenciesChecksumsCacheFile().set(new File(gradleUserHome, Constant.DEPENDENCIES_CHECKSUMS_CACHE_PATH));
+            parameters.getGradleUserHome().set(gradleUserHome);
+            parameters.getVerificationMetadataFile().set(project.file(Constant.DEPENDENCY_VERIFICATION_METADATA_PATH));
+            parameters.getStrictDependencyVerification().set(project.getGradle().getStartParameter().getDependencyVerificationMode() == DependencyVerificationMode.STRICT);
+            Object trace = project.findProperty(Constant.TRACE_PROPERTY);
+            if (trace != null && Boolean.parseBoolean(trace.toString())) {
+                parameters.getTraceFile().set(project.getLayout().getBuildDirectory().file(Constant.TRACE_FILE_NAME));
+            }
+        });
+    }
+
+    public ChecksumCache getArtifactsChecksumCache() {
+        return artifactsChecksumCache;
+    }
+
+    public ChecksumCache getDependenciesChecksumCache() {
+        return dependenciesChecksumCache;
+    }
+
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Get the instance of an Artifactory task's details that is shared by the tasks of the build, so the task's output
+     * file is read once, by the first task that uses it.
+     *
+     * @param taskDeployDetails - the details of an Artifactory task
+     * @return the shared details of the task
+     */
+    public TaskDeployDetails getTaskDeployDetails(TaskDeployDetails taskDeployDetails) {
+        return collectedTasks.computeIfAbsent(taskDeployDetails.getTaskPath(), taskPath -> taskDeployDetails);
+    }
+
+    /**
+     * Get the deployment of the artifacts of the build, creating it on first use.
+     *
+     * @param factory - creates the deployment
+     * @return the build's artifacts deployment
+     */
+    public synchronized ArtifactsDeployment getArtifactsDeployment(Supplier<ArtifactsDeployment> factory) {
+        if (artifactsDeployment == null) {
+            artifactsDeployment = factory.get();
+        }
+        return artifactsDeployment;
+    }
+
+    @Override
+    public void close() {
+        // Stop the uploads if the build ended before the deploy task completed the deployment
+        synchronized (this) {
+            if (artifactsDeployment != null) {
+                artifactsDeployment.close();
+            }
+        }
+        artifactsChecksumCache.save();
+        dependenciesChecksumCache.save();
+        writeTrace();
+    }
+
+    private void writeTrace() {
+        if (!tracer.isEnabled()) {
+            return;
+        }
+        File traceFile = getParameters().getTraceFile().get().getAsFile();
+        try {
+            tracer.writeTo(traceFile);
+            log.lifecycle("Artifactory plugin trace: {}", traceFile.getAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Failed writing trace to '{}': {}", traceFile, e.getMessage());
+        }
+    }
+}
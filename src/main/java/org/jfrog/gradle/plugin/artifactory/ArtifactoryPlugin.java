@@ -1,24 +1,35 @@
 package org.jfrog.gradle.plugin.artifactory;
 
+import org.gradle.api.GradleException;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.execution.TaskExecutionGraph;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskProvider;
 import org.jfrog.gradle.plugin.artifactory.dsl.ArtifactoryPluginConvention;
 import org.jfrog.gradle.plugin.artifactory.listener.ArtifactoryDependencyResolutionListener;
 import org.jfrog.gradle.plugin.artifactory.listener.ProjectsEvaluatedBuildListener;
 import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
+import org.jfrog.gradle.plugin.artifactory.task.DeployTask;
+import org.jfrog.gradle.plugin.artifactory.task.ExtractModuleTask;
 import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
+import org.jfrog.gradle.plugin.artifactory.utils.PluginUtils;
 import org.jfrog.gradle.plugin.artifactory.utils.ProjectUtils;
 import org.jfrog.gradle.plugin.artifactory.utils.TaskUtils;
 
+import java.util.List;
+
 import static org.jfrog.gradle.plugin.artifactory.utils.PluginUtils.assertGradleVersionSupported;
 
 public class ArtifactoryPlugin implements Plugin<Project> {
     private static final Logger log = Logging.getLogger(ArtifactoryPlugin.class);
     private final ArtifactoryDependencyResolutionListener resolutionListener = new ArtifactoryDependencyResolutionListener();
     private final ProjectsEvaluatedBuildListener projectsEvaluatedBuildListener = new ProjectsEvaluatedBuildListener();
+    private final PublisherIndex publisherIndex = new PublisherIndex();
+    private Provider<ArtifactoryBuildService> buildService;
 
     @Override
     public void apply(Project project) {
@@ -30,20 +41,32 @@ public class ArtifactoryPlugin implements Plugin<Project> {
         // Add the collect publications for deploy details and extract module-info tasks to the project module
         TaskProvider<ArtifactoryTask> collectDeployDetailsTask = TaskUtils.addCollectDeployDetailsTask(project);
         TaskUtils.addExtractModuleInfoTask(collectDeployDetailsTask, project);
+        // The state shared by all the tasks of the build
+        buildService = ArtifactoryBuildService.register(project.getRootProject());
+        TaskUtils.declareBuildServiceUsage(project, buildService);
 
         if (ProjectUtils.isRootProject(project)) {
             // Add extract build-info and deploy task for the root to only deploy one time
             TaskUtils.addDeploymentTask(project);
+            // In lazy mode, builds that don't request the plugin's tasks skip the dependency listeners and the task evaluation
+            boolean configurePublishing = !isLazyConfiguration(project) || isPublishRequested(project);
             project.getAllprojects().forEach(subproject -> {
-                // Add a DependencyResolutionListener, to populate the dependency hierarchy map
-                subproject.getConfigurations().all(config -> config.getIncoming().afterResolve(resolutionListener::afterResolve));
+                if (configurePublishing) {
+                    // Add a DependencyResolutionListener, to populate the dependency hierarchy map
+                    subproject.getConfigurations().all(config -> config.getIncoming().afterResolve(resolutionListener::afterResolve));
+                }
                 // Add after_evaluated listener to run the ArtifactoryPublish task before root deploy task
                 if (!subproject.getState().getExecuted()) {
-                    subproject.afterEvaluate((projectsEvaluatedBuildListener::afterEvaluate));
+                    subproject.afterEvaluate(configurePublishing ? projectsEvaluatedBuildListener::afterEvaluate : projectsEvaluatedBuildListener::addResolverIfConfigured);
                 }
             });
-            // Add projects_evaluated listener to evaluate all the ArtifactoryTask tasks for the entire project that are not yet evaluated.
-            project.getGradle().projectsEvaluated(projectsEvaluatedBuildListener::projectsEvaluated);
+            if (configurePublishing) {
+                // Add projects_evaluated listener to evaluate all the ArtifactoryTask tasks for the entire project that are not yet evaluated.
+                project.getGradle().projectsEvaluated(projectsEvaluatedBuildListener::projectsEvaluated);
+            } else {
+                log.info("The Artifactory tasks were not requested, skipping the Artifactory configuration");
+                project.getGradle().getTaskGraph().whenReady(ArtifactoryPlugin::assertNoArtifactoryTasks);
+            }
         } else {
             // Makes sure the plugin is applied in the root project
             project.getRootProject().getPluginManager().apply(ArtifactoryPlugin.class);
@@ -67,7 +90,43 @@ public class ArtifactoryPlugin implements Plugin<Project> {
         return true;
     }
 
+    private static boolean isLazyConfiguration(Project project) {
+        Object lazy = project.findProperty(Constant.LAZY_CONFIGURATION_PROPERTY);
+        return lazy != null && Boolean.parseBoolean(lazy.toString());
+    }
+
+    /**
+     * Check whether the tasks requested for the build, or the default tasks if none were requested, may select one of the plugin's tasks.
+     */
+    private static boolean isPublishRequested(Project project) {
+        List<String> taskNames = project.getGradle().getStartParameter().getTaskNames();
+        if (taskNames.isEmpty()) {
+            taskNames = project.getDefaultTasks();
+        }
+        return PluginUtils.isAnyTaskRequested(taskNames, Constant.ARTIFACTORY_PUBLISH_TASK_NAME, Constant.EXTRACT_MODULE_TASK_NAME, Constant.DEPLOY_TASK_NAME);
+    }
+
+    /**
+     * In lazy mode, the Artifactory tasks are not configured unless requested, so they can't run as dependencies of other tasks.
+     */
+    private static void assertNoArtifactoryTasks(TaskExecutionGraph taskGraph) {
+        for (Task task : taskGraph.getAllTasks()) {
+            if (task instanceof ArtifactoryTask || task instanceof ExtractModuleTask || task instanceof DeployTask) {
+                throw new GradleException("Task " + task.getPath() + " was not requested by name, so it is not configured in lazy mode. " +
+                        "Add '" + Constant.ARTIFACTORY_PUBLISH_TASK_NAME + "' to the requested tasks or set '" + Constant.LAZY_CONFIGURATION_PROPERTY + "' to false.");
+            }
+        }
+    }
+
     public ArtifactoryDependencyResolutionListener getResolutionListener() {
         return resolutionListener;
     }
+
+    public PublisherIndex getPublisherIndex() {
+        return publisherIndex;
+    }
+
+    public Provider<ArtifactoryBuildService> getBuildService() {
+        return buildService;
+    }
 }
@@ -9,6 +9,8 @@ public class Constant {
 
     // Minimum Gradle version to use the plugin
     public static final Version MIN_GRADLE_VERSION = new Version("6.8.1");
+    // Minimum Gradle version to declare the tasks that use a build service
+    public static final Version MIN_USES_SERVICE_GRADLE_VERSION = new Version("7.0");
 
     // Plugin tasks
     public static final String ARTIFACTORY_PUBLISH_TASK_NAME = "artifactoryPublish";
@@ -39,7 +41,29 @@ public class Constant {
     public static final String PUBLISH_IVY = "publishIvy";
     public static final String PUBLISH_POM = "publishPom";
 
+    // Shared build service name
+    public static final String ARTIFACTORY_BUILD_SERVICE_NAME = "artifactoryBuildService";
+
     // Plugin generated file names
     public static final String MODULE_INFO_FILE_NAME = "moduleInfo.json";
+    public static final String DEPLOY_DETAILS_FILE_NAME = "deployDetails.json";
     public static final String BUILD_INFO_FILE_NAME = "build-info.json";
+    public static final String ARTIFACTS_CHECKSUMS_CACHE_FILE_NAME = "artifactory-checksums.cache";
+    public static final String DEPLOY_MANIFEST_FILE_NAME = "artifactory-deploy.manifest";
+    public static final String DEPLOY_JOURNAL_FILE_NAME = "artifactory-deploy.journal";
+    public static final String DEPLOY_METRICS_FILE_NAME = "artifactory-deploy-metrics.json";
+    public static final String TRACE_FILE_NAME = "artifactory-trace.json";
+
+    // Project property to skip the artifacts that were deployed by a previous deployment that did not complete
+    public static final String DEPLOY_RESUME_PROPERTY = "artifactory.deploy.resume";
+    // Project property to record the timing of the plugin's phases as a Chrome trace
+    public static final String TRACE_PROPERTY = "artifactory.trace";
+    // Project property to limit the number of the plugin's tasks that run at the same time
+    public static final String MAX_PARALLEL_USAGES_PROPERTY = "artifactory.maxParallelUsages";
+    // Project property to configure the plugin only in builds that request its tasks
+    public static final String LAZY_CONFIGURATION_PROPERTY = "artifactory.lazy";
+    // Relative to the Gradle user home, shared by all the builds that use it
+    public static final String DEPENDENCIES_CHECKSUMS_CACHE_PATH = "caches/artifactory-plugin/dependencies-checksums.cache";
+    // Relative to the root project, Gradle's dependency verification file
+    public static final String DEPENDENCY_VERIFICATION_METADATA_PATH = "gradle/verification-metadata.xml";
 }
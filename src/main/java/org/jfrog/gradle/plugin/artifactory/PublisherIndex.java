@@ -0,0 +1,54 @@
+package org.jfrog.gradle.plugin.artifactory;
+
+import org.gradle.api.Project;
+import org.jfrog.gradle.plugin.artifactory.dsl.ArtifactoryPluginConvention;
+import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The extension that configures the publisher of each project of the build, by project path: the project's own extension
+ * if it configured a publisher, or the closest parent's one otherwise.
+ * The index is built once after the projects are evaluated, when the publishers are fully configured.
+ * Until then, the publisher is looked up in the project hierarchy on each call.
+ */
+public class PublisherIndex {
+    private volatile Map<String, ArtifactoryPluginConvention> extensions;
+
+    /**
+     * Index the publishers of all the projects of the build, from the root project down.
+     *
+     * @param rootProject - the root project of the build
+     */
+    public void build(Project rootProject) {
+        Map<String, ArtifactoryPluginConvention> index = new HashMap<>();
+        addProject(rootProject, null, index);
+        extensions = index;
+    }
+
+    private static void addProject(Project project, ArtifactoryPluginConvention parentExtension, Map<String, ArtifactoryPluginConvention> index) {
+        ArtifactoryPluginConvention extension = project.getExtensions().findByType(ArtifactoryPluginConvention.class);
+        if (!ExtensionsUtils.isPublisherConfigured(extension)) {
+            extension = parentExtension;
+        }
+        if (extension != null) {
+            index.put(project.getPath(), extension);
+        }
+        for (Project child : project.getChildProjects().values()) {
+            addProject(child, extension, index);
+        }
+    }
+
+    /**
+     * @param project - the project to fetch its publisher configurations
+     * @return the Artifactory extension that configures the project's publisher or null if not found
+     */
+    public ArtifactoryPluginConvention getExtensionWithPublisher(Project project) {
+        Map<String, ArtifactoryPluginConvention> index = extensions;
+        if (index == null) {
+            return ExtensionsUtils.findExtensionWithPublisher(project);
+        }
+        return index.get(project.getPath());
+    }
+}
@@ -0,0 +1,235 @@
+package org.jfrog.gradle.plugin.artifactory.checksum;
+
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.jfrog.build.api.util.FileChecksumCalculator.*;
+
+/**
+ * A persistent cache of the MD5, SHA-1 and SHA-256 checksums of files.
+ * A cached entry is used only as long as the file's size, modification time and file key (inode) are unchanged,
+ * otherwise the file is hashed again.
+ */
+public class ChecksumCache {
+    private static final Logger log = Logging.getLogger(ChecksumCache.class);
+    private static final String SEPARATOR = "\t";
+    private static final String[] ALGORITHMS = {MD5_ALGORITHM, SHA1_ALGORITHM, SHA256_ALGORITHM};
+
+    private final Provider<RegularFile> cacheFile;
+    private final KnownChecksumsProvider knownChecksumsProvider;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicLong hashedBytes = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private boolean loaded;
+
+    /**
+     * @param cacheFile - the file to load and save the cache entries, resolved on first use
+     */
+    public ChecksumCache(Provider<RegularFile> cacheFile) {
+        this(cacheFile, KnownChecksumsProvider.NONE);
+    }
+
+    /**
+     * @param cacheFile              - the file to load and save the cache entries, resolved on first use
+     * @param knownChecksumsProvider - provides checksums that don't need to be calculated when a file is not cached
+     */
+    public ChecksumCache(Provider<RegularFile> cacheFile, KnownChecksumsProvider knownChecksumsProvider) {
+        this.cacheFile = cacheFile;
+        this.knownChecksumsProvider = knownChecksumsProvider;
+    }
+
+    /**
+     * Get the MD5, SHA-1 and SHA-256 checksums of a given file, hashing it only if it changed since it was last cached.
+     *
+     * @param file - the file to get its checksums
+     * @return map of the checksums by the algorithm names of {@link org.jfrog.build.api.util.FileChecksumCalculator}
+     */
+    public Map<String, String> getChecksums(File file) throws IOException {
+        load();
+        Path path = file.toPath().toAbsolutePath();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+        Entry entry = entries.get(path.toString());
+        if (entry != null && entry.matches(attributes)) {
+            hits.incrementAndGet();
+            return entry.getChecksums();
+        }
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        Map<String, String> checksums = calculateChecksums(file);
+        hashNanos.addAndGet(System.nanoTime() - start);
+        hashedBytes.addAndGet(attributes.size());
+        entry = new Entry(attributes, checksums);
+        // Cache the checksums only if the file was not modified while it was hashed
+        if (entry.matches(Files.readAttributes(path, BasicFileAttributes.class))) {
+            entries.put(path.toString(), entry);
+        } else {
+            entries.remove(path.toString());
+        }
+        return checksums;
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the total size of the files that were not cached
+     */
+    public long getHashedBytes() {
+        return hashedBytes.get();
+    }
+
+    /**
+     * @return the total time spent getting the checksums of the files that were not cached
+     */
+    public long getHashNanos() {
+        return hashNanos.get();
+    }
+
+    /**
+     * Calculate only the checksums of the file that are not already known.
+     */
+    private Map<String, String> calculateChecksums(File file) throws IOException {
+        Map<String, String> checksums = new HashMap<>(knownChecksumsProvider.getKnownChecksums(file));
+        String[] missingAlgorithms = Arrays.stream(ALGORITHMS)
+                .filter(algorithm -> StringUtils.isBlank(checksums.get(algorithm)))
+                .toArray(String[]::new);
+        if (missingAlgorithms.length > 0) {
+            checksums.putAll(ChecksumCalculator.calculateChecksums(file, missingAlgorithms));
+        }
+        return checksums;
+    }
+
+    /**
+     * Write the cache entries of the existing files to the cache file.
+     */
+    public synchronized void save() {
+        if (!loaded) {
+            return;
+        }
+        log.info("Checksums cache '{}': {} hits, {} misses", getCacheFile().getName(), hits.get(), misses.get());
+        if (misses.get() == 0) {
+            return;
+        }
+        Path cachePath = getCacheFile().toPath();
+        try {
+            Files.createDirectories(cachePath.getParent());
+            Path tempFile = Files.createTempFile(cachePath.getParent(), cachePath.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    if (entry.getKey().contains(SEPARATOR) || entry.getKey().contains("\n")) {
+                        continue;
+                    }
+                    // Drop the entries of deleted files, such as dependencies removed by Gradle's cache cleanup
+                    if (!Files.exists(Paths.get(entry.getKey()))) {
+                        continue;
+                    }
+                    writer.write(entry.getKey() + SEPARATOR + entry.getValue().toLine());
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, cachePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Failed writing checksums cache to '{}': {}", cachePath, e.getMessage());
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Path cachePath = getCacheFile().toPath();
+        if (!Files.isRegularFile(cachePath)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(cachePath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length != 7) {
+                    continue;
+                }
+                Map<String, String> checksums = new HashMap<>();
+                checksums.put(MD5_ALGORITHM, fields[4]);
+                checksums.put(SHA1_ALGORITHM, fields[5]);
+                checksums.put(SHA256_ALGORITHM, fields[6]);
+                entries.put(fields[0], new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3], checksums));
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable checksums cache '{}': {}", cachePath, e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private File getCacheFile() {
+        return cacheFile.get().getAsFile();
+    }
+
+    private static class Entry {
+        private final long size;
+        private final long lastModified;
+        private final String fileKey;
+        private final Map<String, String> checksums;
+
+        private Entry(long size, long lastModified, String fileKey, Map<String, String> checksums) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+            this.checksums = checksums;
+        }
+
+        private Entry(BasicFileAttributes attributes, Map<String, String> checksums) {
+            this(attributes.size(), getLastModified(attributes), getFileKey(attributes), checksums);
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified == getLastModified(attributes) && fileKey.equals(getFileKey(attributes));
+        }
+
+        private static long getLastModified(BasicFileAttributes attributes) {
+            return attributes.lastModifiedTime().to(TimeUnit.MICROSECONDS);
+        }
+
+        private static String getFileKey(BasicFileAttributes attributes) {
+            return attributes.fileKey() == null ? "" : attributes.fileKey().toString();
+        }
+
+        private Map<String, String> getChecksums() {
+            return new HashMap<>(checksums);
+        }
+
+        private String toLine() {
+            return size + SEPARATOR + lastModified + SEPARATOR + fileKey + SEPARATOR +
+                    checksums.get(MD5_ALGORITHM) + SEPARATOR + checksums.get(SHA1_ALGORITHM) + SEPARATOR + checksums.get(SHA256_ALGORITHM);
+        }
+    }
+}
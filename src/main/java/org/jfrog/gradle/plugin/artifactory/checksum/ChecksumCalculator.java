@@ -0,0 +1,77 @@
+package org.jfrog.gradle.plugin.artifactory.checksum;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Calculates several checksums of a file while reading it only once.
+ * Each thread reuses its own direct buffer, so hashing many files in parallel doesn't allocate a buffer per file.
+ */
+public class ChecksumCalculator {
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Calculate the checksums of a given file.
+     *
+     * @param file       - the file to hash
+     * @param algorithms - the names of the digest algorithms to calculate, such as the ones of {@link org.jfrog.build.api.util.FileChecksumCalculator}
+     * @return map of the lower-case hex checksums by algorithm name
+     */
+    public static Map<String, String> calculateChecksums(File file, String... algorithms) throws IOException {
+        MessageDigest[] digests = new MessageDigest[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            digests[i] = getDigest(algorithms[i]);
+        }
+        // Cast to Buffer, so the compiled code also runs with Java 8
+        Buffer buffer = BUFFERS.get();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer.clear();
+            while (channel.read((ByteBuffer) buffer) != -1) {
+                buffer.flip();
+                for (MessageDigest digest : digests) {
+                    buffer.rewind();
+                    digest.update((ByteBuffer) buffer);
+                }
+                buffer.clear();
+            }
+        } finally {
+            buffer.clear();
+        }
+        Map<String, String> checksums = new HashMap<>();
+        for (int i = 0; i < algorithms.length; i++) {
+            checksums.put(algorithms[i], toHex(digests[i].digest()));
+        }
+        return checksums;
+    }
+
+    private static MessageDigest getDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported checksum algorithm: " + algorithm, e);
+        }
+    }
+
+    /**
+     * @param bytes - a digest
+     * @return the lower-case hex representation of the digest
+     */
+    public static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
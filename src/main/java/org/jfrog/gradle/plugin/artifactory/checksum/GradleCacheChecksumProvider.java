@@ -0,0 +1,163 @@
+package org.jfrog.gradle.plugin.artifactory.checksum;
+
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.jfrog.build.api.util.FileChecksumCalculator.*;
+
+/**
+ * Provides the checksums Gradle already knows for the files of its dependencies cache:
+ * <ul>
+ *     <li>The SHA-1, which is the name of the directory of each file under 'caches/modules-2/files-2.1/group/name/version/'.</li>
+ *     <li>The checksums listed for the file in the build's dependency verification metadata, only if Gradle verifies the
+ *     dependencies in strict mode. Otherwise, Gradle doesn't fail on a checksum that doesn't match the file, so they are not trusted.</li>
+ * </ul>
+ * Files outside the dependencies cache, such as projects outputs, have no known checksums.
+ */
+public class GradleCacheChecksumProvider implements KnownChecksumsProvider {
+    private static final Logger log = Logging.getLogger(GradleCacheChecksumProvider.class);
+    private static final String FILES_CACHE_PATH = "caches/modules-2/files-2.1";
+    private static final int SHA1_LENGTH = 40;
+
+    private final Path filesCacheDir;
+    private final File verificationMetadataFile;
+    private final boolean strictVerification;
+    private Map<String, Map<String, String>> verifiedChecksums;
+
+    /**
+     * @param gradleUserHome           - the Gradle user home, which contains the dependencies cache
+     * @param verificationMetadataFile - the build's 'gradle/verification-metadata.xml' file, may not exist
+     * @param strictVerification       - true if Gradle verifies the dependencies in strict mode
+     */
+    public GradleCacheChecksumProvider(File gradleUserHome, File verificationMetadataFile, boolean strictVerification) {
+        this.filesCacheDir = new File(gradleUserHome, FILES_CACHE_PATH).toPath().toAbsolutePath().normalize();
+        this.verificationMetadataFile = verificationMetadataFile;
+        this.strictVerification = strictVerification;
+    }
+
+    @Override
+    public Map<String, String> getKnownChecksums(File file) {
+        Map<String, String> checksums = new HashMap<>();
+        Path path = file.toPath().toAbsolutePath().normalize();
+        if (!path.startsWith(filesCacheDir)) {
+            return checksums;
+        }
+        // group/name/version/sha1/file
+        Path relativePath = filesCacheDir.relativize(path);
+        if (relativePath.getNameCount() != 5) {
+            return checksums;
+        }
+        String group = relativePath.getName(0).toString();
+        String name = relativePath.getName(1).toString();
+        String version = relativePath.getName(2).toString();
+        String fileName = relativePath.getName(4).toString();
+        Map<String, String> verified = getVerifiedChecksums().get(String.join(":", group, name, version, fileName));
+        if (verified != null) {
+            checksums.putAll(verified);
+        }
+        String sha1 = toSha1(relativePath.getName(3).toString());
+        if (sha1 != null) {
+            checksums.put(SHA1_ALGORITHM, sha1);
+        }
+        return checksums;
+    }
+
+    /**
+     * Gradle names the directories by the SHA-1 in base 16 without the leading zeros.
+     *
+     * @param dirName - the name of the directory
+     * @return the SHA-1 padded to 40 hex digits, or null if the name is not a SHA-1
+     */
+    static String toSha1(String dirName) {
+        if (dirName.isEmpty() || dirName.length() > SHA1_LENGTH) {
+            return null;
+        }
+        for (char c : dirName.toCharArray()) {
+            if (Character.digit(c, 16) < 0) {
+                return null;
+            }
+        }
+        return StringUtils.leftPad(dirName.toLowerCase(), SHA1_LENGTH, '0');
+    }
+
+    private synchronized Map<String, Map<String, String>> getVerifiedChecksums() {
+        if (verifiedChecksums == null) {
+            verifiedChecksums = readVerificationMetadata();
+        }
+        return verifiedChecksums;
+    }
+
+    /**
+     * Read the MD5 and SHA-256 checksums of the artifacts listed in the dependency verification metadata.
+     * The SHA-1 is always taken from the path of the file in the cache.
+     *
+     * @return map of 'group:name:version:artifact' to the artifact's checksums
+     */
+    private Map<String, Map<String, String>> readVerificationMetadata() {
+        Map<String, Map<String, String>> result = new HashMap<>();
+        if (!strictVerification || verificationMetadataFile == null || !verificationMetadataFile.isFile()) {
+            return result;
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            Document document = factory.newDocumentBuilder().parse(verificationMetadataFile);
+            NodeList components = document.getElementsByTagName("component");
+            for (int i = 0; i < components.getLength(); i++) {
+                Element component = (Element) components.item(i);
+                String componentId = String.join(":", component.getAttribute("group"), component.getAttribute("name"), component.getAttribute("version"));
+                NodeList artifacts = component.getElementsByTagName("artifact");
+                for (int j = 0; j < artifacts.getLength(); j++) {
+                    Element artifact = (Element) artifacts.item(j);
+                    Map<String, String> checksums = readChecksums(artifact);
+                    if (!checksums.isEmpty()) {
+                        result.put(componentId + ":" + artifact.getAttribute("name"), checksums);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable dependency verification metadata '{}': {}", verificationMetadataFile, e.getMessage());
+            result.clear();
+        }
+        return result;
+    }
+
+    private static Map<String, String> readChecksums(Element artifact) {
+        Map<String, String> checksums = new HashMap<>();
+        NodeList children = artifact.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            String value = ((Element) child).getAttribute("value").toLowerCase();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (child.getNodeName()) {
+                case "md5":
+                    checksums.put(MD5_ALGORITHM, value);
+                    break;
+                case "sha256":
+                    checksums.put(SHA256_ALGORITHM, value);
+                    break;
+                default:
+            }
+        }
+        return checksums;
+    }
+}
@@ -0,0 +1,19 @@
+package org.jfrog.gradle.plugin.artifactory.checksum;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Provides checksums of a file that are already known without reading the file, such as the ones Gradle recorded.
+ */
+@FunctionalInterface
+public interface KnownChecksumsProvider {
+    KnownChecksumsProvider NONE = file -> Collections.emptyMap();
+
+    /**
+     * @param file - the file to get its known checksums
+     * @return map of the known checksums by the algorithm names of {@link org.jfrog.build.api.util.FileChecksumCalculator}, may be empty
+     */
+    Map<String, String> getKnownChecksums(File file);
+}
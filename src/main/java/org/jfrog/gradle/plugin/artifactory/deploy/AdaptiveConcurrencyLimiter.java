@@ -0,0 +1,149 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Limits the number of concurrent uploads with an AIMD (additive increase, multiplicative decrease) policy.
+ * The limit starts small and grows by about one for every limit-worth of successful uploads, as long as the upload
+ * latency stays close to its average. When Artifactory throttles an upload (HTTP 429 / 503) the limit is halved.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final int INITIAL_LIMIT = 2;
+    // Uploads slower than this factor of the average latency are a sign of congestion, so the limit doesn't grow
+    private static final double CONGESTION_LATENCY_FACTOR = 2;
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final long MIN_DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Pattern THROTTLED_PATTERN = Pattern.compile(
+            "(?i)(status code:?\\s*|HTTP/\\d(\\.\\d)?\\s+)(429|503)\\b|too many requests|service unavailable");
+
+    private final int maxLimit;
+    private final long startNanos = System.nanoTime();
+    // [milliseconds since start, limit] for each change of the limit
+    private final List<long[]> history = new ArrayList<>();
+    private double limit;
+    private int inFlight;
+    private double averageLatencyNanos = -1;
+    private long lastDecreaseNanos;
+    private int throttledCount;
+    private int highestLimit;
+
+    /**
+     * @param maxLimit - the maximum number of concurrent uploads
+     */
+    public AdaptiveConcurrencyLimiter(int maxLimit) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.min(INITIAL_LIMIT, this.maxLimit);
+        this.highestLimit = (int) limit;
+        recordLimit();
+    }
+
+    /**
+     * Wait until another upload is allowed and count it as in flight.
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= getLimit()) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * Release an upload that succeeded.
+     *
+     * @param latencyNanos - the upload duration
+     */
+    public synchronized void onSuccess(long latencyNanos) {
+        release();
+        boolean congested = averageLatencyNanos > 0 && latencyNanos > averageLatencyNanos * CONGESTION_LATENCY_FACTOR;
+        averageLatencyNanos = averageLatencyNanos < 0 ? latencyNanos :
+                averageLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - averageLatencyNanos);
+        if (!congested && limit < maxLimit) {
+            int previousLimit = getLimit();
+            limit = Math.min(maxLimit, limit + 1 / limit);
+            if (getLimit() != previousLimit) {
+                highestLimit = Math.max(highestLimit, getLimit());
+                recordLimit();
+            }
+        }
+    }
+
+    /**
+     * Release an upload that Artifactory throttled.
+     */
+    public synchronized void onThrottled() {
+        release();
+        throttledCount++;
+        // Several uploads may be throttled at once, decrease only once for all of them
+        long now = System.nanoTime();
+        long minInterval = Math.max(MIN_DECREASE_INTERVAL_NANOS, (long) averageLatencyNanos);
+        if (lastDecreaseNanos != 0 && now - lastDecreaseNanos < minInterval) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        int previousLimit = getLimit();
+        limit = Math.max(1, limit / 2);
+        if (getLimit() != previousLimit) {
+            recordLimit();
+        }
+    }
+
+    /**
+     * Release an upload that failed for any other reason.
+     */
+    public synchronized void onFailure() {
+        release();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return the changes of the limit over the deployment, as [milliseconds since start, limit] pairs
+     */
+    public synchronized List<long[]> getHistory() {
+        return new ArrayList<>(history);
+    }
+
+    /**
+     * @return a description of the concurrency over the deployment
+     */
+    public synchronized String getSummary() {
+        StringBuilder changes = new StringBuilder();
+        for (long[] change : history) {
+            if (changes.length() > 0) {
+                changes.append(", ");
+            }
+            changes.append(String.format("%.1fs: %d", change[0] / 1000.0, change[1]));
+        }
+        return String.format("Adaptive upload concurrency: started at %d, highest %d (max %d), final %d, %d throttled uploads. Changes: %s",
+                history.get(0)[1], highestLimit, maxLimit, getLimit(), throttledCount, changes);
+    }
+
+    /**
+     * Check whether an upload failure is due to Artifactory throttling the requests.
+     *
+     * @param throwable - the upload failure
+     * @return true if Artifactory responded with 429 Too Many Requests or 503 Service Unavailable
+     */
+    public static boolean isThrottled(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && THROTTLED_PATTERN.matcher(cause.getMessage()).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    private void recordLimit() {
+        history.add(new long[]{TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), getLimit()});
+    }
+}
@@ -0,0 +1,191 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jfrog.gradle.plugin.artifactory.extractor.GradleDeployDetails;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Schedules the upload of single artifacts across all the modules of the build on a bounded pool of threads.
+ * The artifacts of a module are uploaded in parallel, while its descriptors (pom / ivy) are uploaded only after all the
+ * other artifacts of the module were deployed, keeping the order that {@link GradleDeployDetails#compareTo} defines.
+ * In adaptive mode, the number of concurrent uploads is controlled by an {@link AdaptiveConcurrencyLimiter} up to the
+ * given parallelism, and uploads that Artifactory throttled are retried.
+ */
+public class ArtifactUploadScheduler implements AutoCloseable {
+    private static final Logger log = Logging.getLogger(ArtifactUploadScheduler.class);
+    private static final int MAX_THROTTLED_ATTEMPTS = 5;
+    private static final long THROTTLED_BACKOFF_MILLIS = 500;
+
+    private final ExecutorService executor;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<CompletableFuture<Void>> moduleUploads = new ArrayList<>();
+
+    /**
+     * @param parallelism - the maximum number of artifacts to upload at the same time. 1 or less uploads in the calling thread.
+     */
+    public ArtifactUploadScheduler(int parallelism) {
+        this(parallelism, false);
+    }
+
+    /**
+     * @param parallelism - the maximum number of artifacts to upload at the same time. 1 or less uploads in the calling thread.
+     * @param adaptive    - true to adapt the number of concurrent uploads to Artifactory's responses, up to the parallelism
+     */
+    public ArtifactUploadScheduler(int parallelism, boolean adaptive) {
+        this.executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+        this.limiter = adaptive && executor != null ? new AdaptiveConcurrencyLimiter(parallelism) : null;
+    }
+
+    /**
+     * Schedule the upload of the deployment details of a module.
+     *
+     * @param deployDetails - the module's details, ordered as they should be deployed
+     * @param uploader      - the action that uploads a single artifact
+     * @return a future that completes when all the module's artifacts were uploaded
+     */
+    public CompletableFuture<Void> schedule(Collection<GradleDeployDetails> deployDetails, ArtifactUploader uploader) {
+        if (executor == null) {
+            // Sequential deployment, keep the original order and fail fast
+            deployDetails.forEach(details -> upload(uploader, details, null));
+            return CompletableFuture.completedFuture(null);
+        }
+        return addModuleUpload(scheduleUploads(deployDetails, uploader));
+    }
+
+    /**
+     * Schedule the upload of the deployment details of a module, after creating their uploader in the pool.
+     * Use it when creating the uploader is slow, like when it looks up the artifacts in Artifactory, so the calling thread doesn't wait.
+     *
+     * @param deployDetails   - the module's details, ordered as they should be deployed
+     * @param uploaderFactory - creates the action that uploads a single artifact
+     * @return a future that completes when all the module's artifacts were uploaded
+     */
+    public CompletableFuture<Void> schedule(Collection<GradleDeployDetails> deployDetails, Supplier<ArtifactUploader> uploaderFactory) {
+        if (executor == null) {
+            return schedule(deployDetails, uploaderFactory.get());
+        }
+        return addModuleUpload(CompletableFuture.supplyAsync(uploaderFactory, executor)
+                .thenCompose(uploader -> scheduleUploads(deployDetails, uploader)));
+    }
+
+    private CompletableFuture<Void> scheduleUploads(Collection<GradleDeployDetails> deployDetails, ArtifactUploader uploader) {
+        List<GradleDeployDetails> descriptors = new ArrayList<>();
+        List<CompletableFuture<Void>> artifactUploads = new ArrayList<>();
+        for (GradleDeployDetails details : deployDetails) {
+            if (details.isDescriptor()) {
+                descriptors.add(details);
+                continue;
+            }
+            artifactUploads.add(CompletableFuture.runAsync(() -> upload(uploader, details, getLogPrefix()), executor));
+        }
+        return CompletableFuture.allOf(artifactUploads.toArray(new CompletableFuture[0]))
+                .thenRunAsync(() -> descriptors.forEach(details -> upload(uploader, details, getLogPrefix())), executor);
+    }
+
+    private CompletableFuture<Void> addModuleUpload(CompletableFuture<Void> moduleUpload) {
+        synchronized (moduleUploads) {
+            moduleUploads.add(moduleUpload);
+        }
+        return moduleUpload;
+    }
+
+    /**
+     * Wait until all the scheduled uploads are done.
+     *
+     * @throws RuntimeException if one of the uploads failed
+     */
+    public void awaitCompletion() {
+        CompletableFuture<Void> allUploads;
+        synchronized (moduleUploads) {
+            allUploads = CompletableFuture.allOf(moduleUploads.toArray(new CompletableFuture[0]));
+        }
+        try {
+            allUploads.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the limiter of the concurrent uploads in adaptive mode, or null
+     */
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (limiter != null) {
+            log.lifecycle(limiter.getSummary());
+        }
+    }
+
+    private void upload(ArtifactUploader uploader, GradleDeployDetails details, String logPrefix) {
+        try {
+            if (limiter == null) {
+                uploader.upload(details, logPrefix);
+                return;
+            }
+            uploadWithLimiter(uploader, details, logPrefix);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void uploadWithLimiter(ArtifactUploader uploader, GradleDeployDetails details, String logPrefix) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            limiter.acquire();
+            long start = System.nanoTime();
+            try {
+                uploader.upload(details, logPrefix);
+                limiter.onSuccess(System.nanoTime() - start);
+                return;
+            } catch (IOException e) {
+                if (attempt >= MAX_THROTTLED_ATTEMPTS || !AdaptiveConcurrencyLimiter.isThrottled(e)) {
+                    limiter.onFailure();
+                    throw e;
+                }
+                limiter.onThrottled();
+                log.info("{} Artifactory throttled the upload of {}, retrying with {} concurrent uploads",
+                        logPrefix, details.getDeployDetails().getArtifactPath(), limiter.getLimit());
+            } catch (RuntimeException e) {
+                limiter.onFailure();
+                throw e;
+            }
+            TimeUnit.MILLISECONDS.sleep(THROTTLED_BACKOFF_MILLIS * attempt);
+        }
+    }
+
+    private static String getLogPrefix() {
+        return "[" + Thread.currentThread().getName() + "]";
+    }
+
+    /**
+     * Uploads a single artifact to Artifactory
+     */
+    @FunctionalInterface
+    public interface ArtifactUploader {
+        /**
+         * @param details   - the artifact to upload
+         * @param logPrefix - a prefix to each log in case the deployment is in multi-threads, or null
+         */
+        void upload(GradleDeployDetails details, String logPrefix) throws IOException;
+    }
+}
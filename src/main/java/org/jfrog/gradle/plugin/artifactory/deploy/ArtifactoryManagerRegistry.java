@@ -0,0 +1,79 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Build scoped registry of Artifactory managers.
+ * Tasks that deploy to the same Artifactory with the same connection settings share a single manager (and so a single
+ * HTTP client and connection pool), which keeps the connections alive across all the tasks and the build-info upload.
+ */
+public class ArtifactoryManagerRegistry implements AutoCloseable {
+    private final Map<List<Object>, PooledArtifactoryManager> managers = new ConcurrentHashMap<>();
+    private final int maxConnectionsPerRoute;
+
+    /**
+     * @param maxConnectionsPerRoute - the maximum number of concurrent requests to send through each manager
+     */
+    public ArtifactoryManagerRegistry(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = Math.max(1, maxConnectionsPerRoute);
+    }
+
+    /**
+     * Get the manager registered for the given connection settings, or create a new one if not exists.
+     *
+     * @param key     - all the connection settings (URL, credentials, proxy, TLS, timeouts) that identify the manager
+     * @param factory - creates and configures a new manager for the given settings
+     * @return a manager shared by all the callers with the same connection settings
+     */
+    public PooledArtifactoryManager getManager(List<Object> key, Supplier<GradleArtifactoryManager> factory) {
+        return managers.computeIfAbsent(key, k -> new PooledArtifactoryManager(factory.get(), maxConnectionsPerRoute));
+    }
+
+    @Override
+    public void close() {
+        managers.values().forEach(PooledArtifactoryManager::close);
+        managers.clear();
+    }
+
+    /**
+     * An Artifactory manager that limits the number of requests that are sent through it at the same time
+     */
+    public static class PooledArtifactoryManager {
+        private final GradleArtifactoryManager artifactoryManager;
+        private final Semaphore connections;
+
+        private PooledArtifactoryManager(GradleArtifactoryManager artifactoryManager, int maxConnections) {
+            this.artifactoryManager = artifactoryManager;
+            this.connections = new Semaphore(maxConnections, true);
+        }
+
+        /**
+         * Run a request with the manager, waiting for a free connection if all are in use.
+         *
+         * @param request - the request to run
+         * @return the request result
+         */
+        public <T> T execute(ManagerRequest<T> request) throws IOException {
+            connections.acquireUninterruptibly();
+            try {
+                return request.execute(artifactoryManager);
+            } finally {
+                connections.release();
+            }
+        }
+
+        private void close() {
+            artifactoryManager.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ManagerRequest<T> {
+        T execute(GradleArtifactoryManager artifactoryManager) throws IOException;
+    }
+}
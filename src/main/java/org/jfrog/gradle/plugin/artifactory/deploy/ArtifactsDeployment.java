@@ -0,0 +1,107 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.utils.DeployUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The deployment of the artifacts collected by the Artifactory tasks of the build.
+ * All the tasks share the upload threads, the Artifactory managers and the records of the deployed artifacts.
+ * Each task is deployed once, either as soon as it collected its artifacts (pipelined deployment) or by the deploy task.
+ */
+public class ArtifactsDeployment implements AutoCloseable {
+    private final Map<String, String> propsRoot;
+    private final ArtifactoryManagerRegistry managers;
+    private final ArtifactUploadScheduler scheduler;
+    private final DeployManifest deployManifest;
+    private final DeployJournal deployJournal;
+    private final DeployMetrics metrics;
+    private final Map<String, Set<DeployDetails>> allDeployDetails = new ConcurrentHashMap<>();
+    private final Set<String> deployedTasks = ConcurrentHashMap.newKeySet();
+    private boolean closed;
+
+    /**
+     * @param propsRoot      - root properties to merge with the properties of each task
+     * @param managers       - the Artifactory managers to deploy with
+     * @param scheduler      - the scheduler to upload the artifacts with
+     * @param deployManifest - the previously deployed artifacts to deploy by checksum, or null to deploy all the artifacts as usual
+     * @param deployJournal  - the journal of the deployment, with the artifacts of the resumed deployment to skip
+     * @param metrics        - the deployment metrics to record the uploads in
+     */
+    public ArtifactsDeployment(Map<String, String> propsRoot, ArtifactoryManagerRegistry managers, ArtifactUploadScheduler scheduler,
+                               DeployManifest deployManifest, DeployJournal deployJournal, DeployMetrics metrics) {
+        this.propsRoot = propsRoot;
+        this.managers = managers;
+        this.scheduler = scheduler;
+        this.deployManifest = deployManifest;
+        this.deployJournal = deployJournal;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Schedule the upload of the artifacts collected by a given task, if not scheduled yet.
+     *
+     * @param taskDeployDetails - the details that the task collected
+     */
+    public void deploy(TaskDeployDetails taskDeployDetails) {
+        if (!deployedTasks.add(taskDeployDetails.getTaskPath())) {
+            return;
+        }
+        ArtifactoryClientConfiguration accRoot = taskDeployDetails.getClientConfig();
+        if (accRoot == null) {
+            return;
+        }
+        DeployUtils.deployTaskArtifacts(accRoot, propsRoot, allDeployDetails, taskDeployDetails, scheduler, managers, deployJournal, deployManifest, metrics);
+    }
+
+    /**
+     * Wait until all the scheduled uploads are done.
+     *
+     * @return Map of module to deployed artifact details.
+     * @throws RuntimeException if one of the uploads failed
+     */
+    public Map<String, Set<DeployDetails>> awaitCompletion() {
+        scheduler.awaitCompletion();
+        return allDeployDetails;
+    }
+
+    /**
+     * Mark the deployment as successful, including the build-info.
+     */
+    public void complete() {
+        deployJournal.complete();
+    }
+
+    public ArtifactoryManagerRegistry getManagers() {
+        return managers;
+    }
+
+    public DeployMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            scheduler.close();
+            if (scheduler.getLimiter() != null) {
+                metrics.setConcurrencyHistory(scheduler.getLimiter().getHistory());
+            }
+            // Keep the artifacts that were deployed, even if others failed
+            if (deployManifest != null) {
+                deployManifest.save();
+            }
+        } finally {
+            deployJournal.close();
+            managers.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jfrog.build.api.search.AqlSearchResult;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.deploy.ArtifactoryManagerRegistry.PooledArtifactoryManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds, before deploying, which artifacts already exist in their target repository and path with the same SHA-1.
+ * All the artifacts are looked up with a few batched AQL searches instead of a request per artifact, so the found
+ * artifacts can be deployed by checksum without uploading their content.
+ */
+public class ChecksumDeployPreflight {
+    private static final Logger log = Logging.getLogger(ChecksumDeployPreflight.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    // Keep each AQL request reasonably small
+    private static final int MAX_ARTIFACTS_PER_SEARCH = 100;
+
+    /**
+     * Find the given artifacts that are already deployed with the same SHA-1.
+     *
+     * @param artifactoryManager - the manager to search with
+     * @param deployDetails      - the artifacts to look for
+     * @return the keys (see {@link #getKey(DeployDetails)}) of the artifacts that are already deployed. Empty if the search failed.
+     */
+    public static Set<String> findDeployedArtifacts(PooledArtifactoryManager artifactoryManager, Collection<DeployDetails> deployDetails) {
+        Set<String> deployed = new HashSet<>();
+        List<DeployDetails> batch = new ArrayList<>();
+        try {
+            for (DeployDetails details : deployDetails) {
+                if (StringUtils.isAnyBlank(details.getTargetRepository(), details.getArtifactPath(), details.getSha1())) {
+                    continue;
+                }
+                batch.add(details);
+                if (batch.size() == MAX_ARTIFACTS_PER_SEARCH) {
+                    search(artifactoryManager, batch, deployed);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                search(artifactoryManager, batch, deployed);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The deployment doesn't depend on the preflight, each artifact is still deployed as usual
+            log.info("Failed to search for already deployed artifacts, deploying all: {}", e.getMessage());
+            log.debug("Already deployed artifacts search failure", e);
+            return new HashSet<>();
+        }
+        log.debug("{} artifacts are already deployed with the same checksum", deployed.size());
+        return deployed;
+    }
+
+    /**
+     * @param details - the artifact details
+     * @return the artifact's target repository and path
+     */
+    public static String getKey(DeployDetails details) {
+        return details.getTargetRepository() + "/" + details.getArtifactPath();
+    }
+
+    private static void search(PooledArtifactoryManager artifactoryManager, List<DeployDetails> batch, Set<String> deployed) throws IOException {
+        String aql = createAql(batch);
+        AqlSearchResult result = artifactoryManager.execute(manager -> manager.searchArtifactsByAql(aql));
+        if (result == null || result.getResults() == null) {
+            return;
+        }
+        for (AqlSearchResult.SearchEntry entry : result.getResults()) {
+            String path = ".".equals(entry.getPath()) ? entry.getName() : entry.getPath() + "/" + entry.getName();
+            deployed.add(entry.getRepo() + "/" + path);
+        }
+    }
+
+    /**
+     * Create an AQL query that finds the items matching the repository, path, name and SHA-1 of any of the artifacts.
+     */
+    static String createAql(List<DeployDetails> batch) {
+        ObjectNode query = mapper.createObjectNode();
+        ArrayNode anyOf = query.putArray("$or");
+        for (DeployDetails details : batch) {
+            String artifactPath = details.getArtifactPath();
+            int lastSlash = artifactPath.lastIndexOf('/');
+            ArrayNode allOf = anyOf.addObject().putArray("$and");
+            allOf.addObject().put("repo", details.getTargetRepository());
+            allOf.addObject().put("path", lastSlash < 0 ? "." : artifactPath.substring(0, lastSlash));
+            allOf.addObject().put("name", artifactPath.substring(lastSlash + 1));
+            allOf.addObject().put("actual_sha1", details.getSha1());
+        }
+        return "items.find(" + query + ").include(\"repo\",\"path\",\"name\")";
+    }
+}
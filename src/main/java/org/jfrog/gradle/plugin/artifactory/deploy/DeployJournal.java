@@ -0,0 +1,167 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.Constant;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An append-only journal of the artifacts deployed by the current deployment.
+ * Each deployed artifact is written right away, so if the deployment fails or is killed, the next deployment can resume
+ * and skip the artifacts that were already deployed. The journal is synced to the disk at most once per second and when
+ * it is closed, so the upload threads don't wait for a disk sync on each artifact. If the machine crashes, the entries
+ * of the last second may be lost, and their artifacts are deployed again.
+ * The journal is deleted once the deployment completes successfully.
+ */
+public class DeployJournal implements DeployRecord, AutoCloseable {
+    private static final Logger log = Logging.getLogger(DeployJournal.class);
+    private static final String SEPARATOR = "\t";
+    private static final long SYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path journalFile;
+    // Artifactory URL, repository and path to SHA-256 of the artifacts deployed by the resumed deployment
+    private final Map<String, String> resumedEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger deployedCount = new AtomicInteger();
+    private FileChannel channel;
+    private long lastSyncNanos = System.nanoTime();
+    private boolean completed;
+
+    private DeployJournal(Path journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Open the journal of a new deployment.
+     *
+     * @param journalFile - the journal file
+     * @param resume      - if true, the artifacts in the existing journal are skipped. Otherwise, the existing journal is discarded.
+     * @return the journal
+     */
+    public static DeployJournal open(Path journalFile, boolean resume) {
+        DeployJournal journal = new DeployJournal(journalFile);
+        try {
+            if (resume) {
+                journal.readEntries();
+                log.lifecycle("Resuming the deployment, {} previously deployed artifacts will be skipped", journal.resumedEntries.size());
+            }
+            Files.createDirectories(journalFile.getParent());
+            journal.channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    resume ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+            journal.terminatePartialLine();
+        } catch (IOException e) {
+            log.warn("Failed opening deploy journal '{}', the deployment won't be resumable: {}", journalFile, e.getMessage());
+        }
+        return journal;
+    }
+
+    @Override
+    public boolean contains(String contextUrl, DeployDetails details) {
+        String sha256 = details.getSha256();
+        return StringUtils.isNotBlank(sha256) && sha256.equals(resumedEntries.get(getKey(contextUrl, details)));
+    }
+
+    @Override
+    public synchronized void add(String contextUrl, DeployDetails details) {
+        String key = getKey(contextUrl, details);
+        if (channel == null || StringUtils.isBlank(details.getSha256()) || StringUtils.containsAny(key, '\n', '\r')) {
+            return;
+        }
+        try {
+            ByteBuffer line = ByteBuffer.wrap((key + SEPARATOR + details.getSha256() + "\n").getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            deployedCount.incrementAndGet();
+            if (System.nanoTime() - lastSyncNanos >= SYNC_INTERVAL_NANOS) {
+                channel.force(false);
+                lastSyncNanos = System.nanoTime();
+            }
+        } catch (IOException e) {
+            log.warn("Failed writing to deploy journal '{}', the deployment won't be resumable: {}", journalFile, e.getMessage());
+            closeChannel();
+        }
+    }
+
+    /**
+     * Mark the deployment as completed successfully, the journal is deleted when closed.
+     */
+    public void complete() {
+        completed = true;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeChannel();
+        if (completed) {
+            try {
+                Files.deleteIfExists(journalFile);
+            } catch (IOException e) {
+                log.warn("Failed deleting deploy journal '{}': {}", journalFile, e.getMessage());
+            }
+        } else if (deployedCount.get() > 0 || !resumedEntries.isEmpty()) {
+            log.lifecycle("The deployment did not complete. To skip the artifacts that were already deployed, run again with -P{}=true",
+                    Constant.DEPLOY_RESUME_PROPERTY);
+        }
+    }
+
+    private void readEntries() throws IOException {
+        if (!Files.isRegularFile(journalFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // A line may be partial if the previous deployment was killed while writing it
+                String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length == 4 && fields[3].length() == 64) {
+                    resumedEntries.put(fields[0] + SEPARATOR + fields[1] + SEPARATOR + fields[2], fields[3]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Make sure the new entries start in a new line, in case the previous deployment was killed in a middle of a line
+     */
+    private void terminatePartialLine() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer lastByte = ByteBuffer.allocate(1);
+        channel.read(lastByte, size - 1);
+        if (lastByte.get(0) != '\n') {
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try (FileChannel closedChannel = channel) {
+            closedChannel.force(false);
+        } catch (IOException e) {
+            log.debug("Failed closing deploy journal", e);
+        }
+        channel = null;
+    }
+
+    private static String getKey(String contextUrl, DeployDetails details) {
+        return StringUtils.removeEnd(contextUrl, "/") + SEPARATOR + details.getTargetRepository() + SEPARATOR + details.getArtifactPath();
+    }
+}
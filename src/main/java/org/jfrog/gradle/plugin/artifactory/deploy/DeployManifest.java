@@ -0,0 +1,144 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.checksum.ChecksumCalculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The manifest of the artifacts that were deployed by previous builds, used by the incremental deployment to deploy
+ * artifacts that are identical to their last successful deployment by checksum, without uploading their content.
+ * Each line of the manifest file holds the Artifactory URL, the target repository, the artifact path, its SHA-256 and
+ * a digest of its own properties. The properties that each build adds to all its artifacts, like 'build.number' and
+ * 'build.timestamp', are not digested, and are applied to the artifact by the checksum deployment.
+ */
+public class DeployManifest implements DeployRecord {
+    private static final Logger log = Logging.getLogger(DeployManifest.class);
+    private static final String SEPARATOR = "\t";
+    private static final String BUILD_PROPERTIES_PREFIX = "build.";
+
+    private final Path manifestFile;
+    private final Set<String> buildProperties;
+    // Artifactory URL, repository and path to SHA-256 and properties digest
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+    private volatile boolean changed;
+
+    private DeployManifest(Path manifestFile, Set<String> buildProperties) {
+        this.manifestFile = manifestFile;
+        this.buildProperties = buildProperties;
+    }
+
+    /**
+     * Load the manifest from a given file. A missing or unreadable file results in an empty manifest.
+     *
+     * @param manifestFile    - the manifest file
+     * @param buildProperties - the names of the properties that the build adds to all its artifacts
+     * @return the manifest
+     */
+    public static DeployManifest load(Path manifestFile, Set<String> buildProperties) {
+        DeployManifest manifest = new DeployManifest(manifestFile, buildProperties);
+        if (!Files.isRegularFile(manifestFile)) {
+            return manifest;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Lines of older manifests, without the properties digest, are ignored
+                String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length == 5) {
+                    manifest.entries.put(fields[0] + SEPARATOR + fields[1] + SEPARATOR + fields[2], fields[3] + SEPARATOR + fields[4]);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable deploy manifest '{}': {}", manifestFile, e.getMessage());
+            manifest.entries.clear();
+        }
+        return manifest;
+    }
+
+    /**
+     * @param contextUrl - the Artifactory the artifact is deployed to
+     * @param details    - the artifact details
+     * @return true if the artifact was last deployed to the same repository and path with the same SHA-256 and own properties
+     */
+    @Override
+    public boolean contains(String contextUrl, DeployDetails details) {
+        return StringUtils.isNotBlank(details.getSha256()) && getValue(details).equals(entries.get(getKey(contextUrl, details)));
+    }
+
+    @Override
+    public void add(String contextUrl, DeployDetails details) {
+        String key = getKey(contextUrl, details);
+        if (StringUtils.isBlank(details.getSha256()) || StringUtils.containsAny(key, '\n', '\r')) {
+            return;
+        }
+        String value = getValue(details);
+        if (!value.equals(entries.put(key, value))) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Write the manifest to its file, if changed.
+     */
+    public synchronized void save() {
+        if (!changed) {
+            return;
+        }
+        try {
+            Files.createDirectories(manifestFile.getParent());
+            Path tempFile = Files.createTempFile(manifestFile.getParent(), manifestFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    writer.write(entry.getKey() + SEPARATOR + entry.getValue());
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+            changed = false;
+        } catch (IOException e) {
+            log.warn("Failed writing deploy manifest to '{}': {}", manifestFile, e.getMessage());
+        }
+    }
+
+    private static String getKey(String contextUrl, DeployDetails details) {
+        return StringUtils.removeEnd(contextUrl, "/") + SEPARATOR + details.getTargetRepository() + SEPARATOR + details.getArtifactPath();
+    }
+
+    private String getValue(DeployDetails details) {
+        return details.getSha256() + SEPARATOR + getPropertiesDigest(details);
+    }
+
+    /**
+     * @return the SHA-1 of the artifact's own sorted properties
+     */
+    private String getPropertiesDigest(DeployDetails details) {
+        StringBuilder properties = new StringBuilder();
+        if (details.getProperties() != null) {
+            details.getProperties().entries().stream()
+                    .filter(property -> !buildProperties.contains(property.getKey()) && !property.getKey().startsWith(BUILD_PROPERTIES_PREFIX))
+                    .map(property -> property.getKey() + "=" + property.getValue())
+                    .sorted()
+                    .forEach(property -> properties.append(property).append('\n'));
+        }
+        try {
+            return ChecksumCalculator.toHex(MessageDigest.getInstance("SHA-1").digest(properties.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.checksum.ChecksumCache;
+import org.jfrog.gradle.plugin.artifactory.trace.Span;
+import org.jfrog.gradle.plugin.artifactory.trace.Tracer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the timings of a deployment: the upload of each artifact, the totals of each task and the duration of the
+ * deployment phases, and writes them as a JSON report.
+ * The upload time of an artifact covers the whole request (connection, transfer and processing by Artifactory), since
+ * the Artifactory client doesn't expose them separately. The time waiting for a free connection is measured apart.
+ */
+public class DeployMetrics {
+    private static final double MEGABYTE = 1024 * 1024;
+
+    public enum Status {
+        DEPLOYED, SKIPPED, FAILED
+    }
+
+    private final Tracer tracer;
+    private final String projectPath;
+    private final long startNanos = System.nanoTime();
+    private final Queue<Upload> uploads = new ConcurrentLinkedQueue<>();
+    private final Map<String, Long> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+    private ChecksumCache checksumCache;
+    private List<long[]> concurrencyHistory;
+
+    /**
+     * @param tracer      - the tracer to record the deployment phases in as well
+     * @param projectPath - the path of the deploying project
+     */
+    public DeployMetrics(Tracer tracer, String projectPath) {
+        this.tracer = tracer;
+        this.projectPath = projectPath;
+    }
+
+    /**
+     * Start measuring the deployment of an artifact.
+     *
+     * @param taskPath - the task that collected the artifact
+     * @param details  - the artifact to deploy
+     * @return the measurement to complete when the artifact is handled
+     */
+    public Upload startUpload(String taskPath, DeployDetails details) {
+        return new Upload(taskPath, details);
+    }
+
+    /**
+     * Start measuring a phase of the deployment.
+     *
+     * @param name - the phase name
+     * @return the phase, to close when it ends
+     */
+    public Phase startPhase(String name) {
+        return new Phase(name, tracer.start(name, projectPath));
+    }
+
+    /**
+     * @param checksumCache - the cache that provided the checksums of the artifacts, to report the hashing time
+     */
+    public void setChecksumCache(ChecksumCache checksumCache) {
+        this.checksumCache = checksumCache;
+    }
+
+    /**
+     * @param concurrencyHistory - the upload concurrency over time in adaptive mode, as [milliseconds, limit] pairs
+     */
+    public void setConcurrencyHistory(List<long[]> concurrencyHistory) {
+        this.concurrencyHistory = concurrencyHistory;
+    }
+
+    /**
+     * @return a single line summary of the artifacts deployment
+     */
+    public String getSummary() {
+        Totals totals = new Totals(uploads);
+        long[] latencies = getDeployedLatencies();
+        return String.format("Deployed %d artifacts (%.1f MB) in %.1fs, %.2f MB/s. Upload latency p50 %d ms, p95 %d ms, p99 %d ms. %d skipped, %d failed.",
+                totals.deployed, totals.bytes / MEGABYTE, totals.getDurationNanos() / 1e9, totals.getMegabytesPerSecond(),
+                toMillis(percentile(latencies, 50)), toMillis(percentile(latencies, 95)), toMillis(percentile(latencies, 99)),
+                totals.skipped, totals.failed);
+    }
+
+    /**
+     * Write the metrics to a JSON file.
+     *
+     * @param file - the report file
+     */
+    public void writeReport(File file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode report = mapper.createObjectNode();
+        report.put("durationMillis", toMillis(System.nanoTime() - startNanos));
+
+        ObjectNode artifacts = report.putObject("artifacts");
+        new Totals(uploads).write(artifacts);
+        long[] latencies = getDeployedLatencies();
+        ObjectNode latency = artifacts.putObject("uploadLatencyMillis");
+        latency.put("p50", toMillis(percentile(latencies, 50)));
+        latency.put("p95", toMillis(percentile(latencies, 95)));
+        latency.put("p99", toMillis(percentile(latencies, 99)));
+        latency.put("max", toMillis(percentile(latencies, 100)));
+
+        if (checksumCache != null) {
+            ObjectNode hashing = report.putObject("hashing");
+            hashing.put("cached", checksumCache.getHits());
+            hashing.put("hashed", checksumCache.getMisses());
+            hashing.put("bytes", checksumCache.getHashedBytes());
+            hashing.put("millis", toMillis(checksumCache.getHashNanos()));
+        }
+
+        ObjectNode phasesNode = report.putObject("phasesMillis");
+        synchronized (phases) {
+            phases.forEach((name, nanos) -> phasesNode.put(name, toMillis(nanos)));
+        }
+
+        ArrayNode tasks = report.putArray("tasks");
+        Map<String, List<Upload>> uploadsByTask = new LinkedHashMap<>();
+        for (Upload upload : getSortedUploads()) {
+            uploadsByTask.computeIfAbsent(upload.taskPath, task -> new ArrayList<>()).add(upload);
+        }
+        uploadsByTask.forEach((taskPath, taskUploads) -> {
+            ObjectNode task = tasks.addObject();
+            task.put("task", taskPath);
+            new Totals(taskUploads).write(task);
+        });
+
+        ArrayNode uploadsNode = report.putArray("uploads");
+        for (Upload upload : getSortedUploads()) {
+            ObjectNode node = uploadsNode.addObject();
+            node.put("task", upload.taskPath);
+            node.put("repository", upload.repository);
+            node.put("path", upload.path);
+            node.put("bytes", upload.bytes);
+            node.put("status", upload.status.name());
+            node.put("startMillis", toMillis(upload.createdNanos - startNanos));
+            node.put("queuedMillis", toMillis(upload.getQueuedNanos()));
+            node.put("uploadMillis", toMillis(upload.getUploadNanos()));
+        }
+
+        if (concurrencyHistory != null) {
+            ArrayNode concurrency = report.putArray("concurrency");
+            for (long[] change : concurrencyHistory) {
+                concurrency.addObject().put("millis", change[0]).put("limit", change[1]);
+            }
+        }
+
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+
+    private List<Upload> getSortedUploads() {
+        List<Upload> sorted = new ArrayList<>(uploads);
+        sorted.sort((first, second) -> Long.compare(first.createdNanos, second.createdNanos));
+        return sorted;
+    }
+
+    private long[] getDeployedLatencies() {
+        return uploads.stream()
+                .filter(upload -> upload.status == Status.DEPLOYED)
+                .mapToLong(Upload::getUploadNanos)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    static long percentile(long[] sortedValues, int percentile) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+        return sortedValues[Math.max(0, rank - 1)];
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * The measurement of a phase of the deployment.
+     */
+    public class Phase implements AutoCloseable {
+        private final String name;
+        private final Span span;
+        private final long phaseStartNanos = System.nanoTime();
+
+        private Phase(String name, Span span) {
+            this.name = name;
+            this.span = span;
+        }
+
+        @Override
+        public void close() {
+            phases.put(name, System.nanoTime() - phaseStartNanos);
+            span.close();
+        }
+    }
+
+    /**
+     * The measurement of the deployment of a single artifact.
+     */
+    public class Upload {
+        private final String taskPath;
+        private final String repository;
+        private final String path;
+        private final long bytes;
+        private final long createdNanos = System.nanoTime();
+        private long uploadStartNanos;
+        private long endNanos;
+        private Status status;
+
+        private Upload(String taskPath, DeployDetails details) {
+            this.taskPath = taskPath;
+            this.repository = details.getTargetRepository();
+            this.path = details.getArtifactPath();
+            this.bytes = details.getFile() != null ? details.getFile().length() : 0;
+        }
+
+        /**
+         * Mark that a connection is available and the request starts.
+         */
+        public void started() {
+            uploadStartNanos = System.nanoTime();
+        }
+
+        /**
+         * Complete the measurement.
+         *
+         * @param status - the deployment result
+         */
+        public void finish(Status status) {
+            this.endNanos = System.nanoTime();
+            this.status = status;
+            uploads.add(this);
+        }
+
+        private long getQueuedNanos() {
+            return uploadStartNanos == 0 ? 0 : uploadStartNanos - createdNanos;
+        }
+
+        private long getUploadNanos() {
+            return uploadStartNanos == 0 ? 0 : endNanos - uploadStartNanos;
+        }
+    }
+
+    /**
+     * The totals of a group of uploads.
+     */
+    private static class Totals {
+        private int deployed;
+        private int skipped;
+        private int failed;
+        private long bytes;
+        private long uploadNanos;
+        private long firstNanos = Long.MAX_VALUE;
+        private long lastNanos = Long.MIN_VALUE;
+
+        private Totals(Iterable<Upload> uploads) {
+            for (Upload upload : uploads) {
+                firstNanos = Math.min(firstNanos, upload.createdNanos);
+                lastNanos = Math.max(lastNanos, upload.endNanos);
+                switch (upload.status) {
+                    case DEPLOYED:
+                        deployed++;
+                        bytes += upload.bytes;
+                        uploadNanos += upload.getUploadNanos();
+                        break;
+                    case SKIPPED:
+                        skipped++;
+                        break;
+                    default:
+                        failed++;
+                }
+            }
+        }
+
+        private long getDurationNanos() {
+            return lastNanos < firstNanos ? 0 : lastNanos - firstNanos;
+        }
+
+        private double getMegabytesPerSecond() {
+            long durationNanos = getDurationNanos();
+            return durationNanos == 0 ? 0 : bytes / MEGABYTE / (durationNanos / 1e9);
+        }
+
+        private void write(ObjectNode node) {
+            node.put("deployed", deployed);
+            node.put("skipped", skipped);
+            node.put("failed", failed);
+            node.put("bytes", bytes);
+            node.put("uploadMillis", toMillis(uploadNanos));
+            node.put("durationMillis", toMillis(getDurationNanos()));
+            node.put("megabytesPerSecond", Math.round(getMegabytesPerSecond() * 100) / 100.0);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+
+/**
+ * A record of artifacts that were successfully deployed, used to avoid uploading them again.
+ */
+public interface DeployRecord {
+    /**
+     * @param contextUrl - the Artifactory the artifact is deployed to
+     * @param details    - the artifact details
+     * @return true if the artifact was recorded as deployed to the same repository and path with the same SHA-256
+     */
+    boolean contains(String contextUrl, DeployDetails details);
+
+    /**
+     * Record a successfully deployed artifact.
+     *
+     * @param contextUrl - the Artifactory the artifact was deployed to
+     * @param details    - the artifact details
+     */
+    void add(String contextUrl, DeployDetails details);
+}
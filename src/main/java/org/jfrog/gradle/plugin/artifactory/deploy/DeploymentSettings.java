@@ -0,0 +1,107 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.gradle.plugin.artifactory.Constant;
+import org.jfrog.gradle.plugin.artifactory.dsl.PublisherConfig;
+import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The root project's configuration of the deployment, captured before the build executes.
+ * It doesn't reference the project, so the tasks that deploy can be stored in the configuration cache.
+ */
+public class DeploymentSettings implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, String> clientConfigProperties;
+    private final Map<String, String> buildProperties;
+    private final int maxConnectionsPerRoute;
+    private final boolean streamBuildInfo;
+    private final boolean incrementalDeploy;
+    private final boolean adaptiveForkCount;
+    private final boolean pipelinedDeploy;
+    private final boolean resume;
+    private final String rootProjectPath;
+    private final File rootBuildDirectory;
+
+    /**
+     * @param clientConfig           - the root client configuration
+     * @param buildProperties        - the properties of this build to add to the deployed artifacts
+     * @param publisherConfig        - the root publisher configuration, or null if not configured
+     * @param maxConnectionsPerRoute - the maximum number of concurrent connections to each Artifactory instance
+     * @param resume                 - true to skip the artifacts deployed by a previous deployment that did not complete
+     * @param rootProjectPath        - the path of the root project
+     * @param rootBuildDirectory     - the build directory of the root project
+     */
+    public DeploymentSettings(ArtifactoryClientConfiguration clientConfig, Map<String, String> buildProperties, PublisherConfig publisherConfig,
+                              int maxConnectionsPerRoute, boolean resume, String rootProjectPath, File rootBuildDirectory) {
+        this.clientConfigProperties = new HashMap<>(clientConfig.getAllProperties());
+        this.buildProperties = new HashMap<>(buildProperties);
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.streamBuildInfo = publisherConfig != null && publisherConfig.isStreamBuildInfo();
+        this.incrementalDeploy = publisherConfig != null && publisherConfig.isIncrementalDeploy();
+        this.adaptiveForkCount = publisherConfig != null && publisherConfig.isAdaptiveForkCount();
+        this.pipelinedDeploy = publisherConfig != null && publisherConfig.isPipelinedDeploy();
+        this.resume = resume;
+        this.rootProjectPath = rootProjectPath;
+        this.rootBuildDirectory = rootBuildDirectory;
+    }
+
+    /**
+     * @return a new copy of the root client configuration
+     */
+    public ArtifactoryClientConfiguration getClientConfig() {
+        return ExtensionsUtils.createClientConfig(clientConfigProperties);
+    }
+
+    /**
+     * @return the properties of the root publisher, e.g. the build name, number and timestamp
+     */
+    public Map<String, String> getBuildProperties() {
+        return buildProperties;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public boolean isStreamBuildInfo() {
+        return streamBuildInfo;
+    }
+
+    public boolean isIncrementalDeploy() {
+        return incrementalDeploy;
+    }
+
+    public boolean isAdaptiveForkCount() {
+        return adaptiveForkCount;
+    }
+
+    public boolean isPipelinedDeploy() {
+        return pipelinedDeploy;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    public String getRootProjectPath() {
+        return rootProjectPath;
+    }
+
+    public File getRootBuildDirectory() {
+        return rootBuildDirectory;
+    }
+
+    public File getManifestFile() {
+        return new File(rootBuildDirectory, Constant.DEPLOY_MANIFEST_FILE_NAME);
+    }
+
+    public File getJournalFile() {
+        return new File(rootBuildDirectory, Constant.DEPLOY_JOURNAL_FILE_NAME);
+    }
+}
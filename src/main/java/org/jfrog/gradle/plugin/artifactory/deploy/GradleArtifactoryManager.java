@@ -0,0 +1,64 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.FileEntity;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.extractor.clientConfiguration.client.VoidJFrogService;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Artifactory manager of the deployment, which can also publish a build-info file as is, without loading it to memory.
+ * The file is sent by the manager's own HTTP client, with the connections and settings shared by the artifacts deployment.
+ */
+public class GradleArtifactoryManager extends ArtifactoryManager {
+    private final Log logger;
+
+    public GradleArtifactoryManager(String artifactoryUrl, String username, String password, Log logger) {
+        super(artifactoryUrl, username, password, logger);
+        this.logger = logger;
+    }
+
+    /**
+     * Publish a build-info JSON file, streaming its content.
+     *
+     * @param buildInfoFile - the build-info file
+     * @param project       - the JFrog project key of the build-info, or null
+     * @throws IOException if the request failed or Artifactory rejected the build-info
+     */
+    public void publishBuildInfo(File buildInfoFile, String project) throws IOException {
+        new PublishBuildInfoFile(buildInfoFile, project, logger).execute(jfrogHttpClient);
+    }
+
+    private static class PublishBuildInfoFile extends VoidJFrogService {
+        private static final String BUILD_REST_URL = "/api/build";
+        private static final ContentType BUILD_INFO_CONTENT_TYPE = ContentType.create("application/vnd.org.jfrog.artifactory+json", StandardCharsets.UTF_8);
+        private final File buildInfoFile;
+        private final String project;
+
+        private PublishBuildInfoFile(File buildInfoFile, String project, Log logger) {
+            super(logger);
+            this.buildInfoFile = buildInfoFile;
+            this.project = project;
+        }
+
+        @Override
+        public HttpRequestBase createRequest() throws IOException {
+            String url = BUILD_REST_URL;
+            if (StringUtils.isNotBlank(project)) {
+                url += "?project=" + URLEncoder.encode(project, StandardCharsets.UTF_8.name());
+            }
+            HttpPut request = new HttpPut(url);
+            // The file entity is repeatable, so the request can be retried
+            request.setEntity(new FileEntity(buildInfoFile, BUILD_INFO_CONTENT_TYPE));
+            return request;
+        }
+    }
+}
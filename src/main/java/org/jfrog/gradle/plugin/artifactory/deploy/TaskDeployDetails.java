@@ -0,0 +1,84 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.gradle.plugin.artifactory.extractor.DeployDetailsFile;
+import org.jfrog.gradle.plugin.artifactory.extractor.GradleDeployDetails;
+import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
+import org.jfrog.gradle.plugin.artifactory.utils.IncludeExcludeMatcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The deploy details that an Artifactory task of the build collected to its output file, with the client configuration
+ * of the task's project. The details are read from the file on first use, after the task is done, whether it collected
+ * them in this build or its output was up-to-date or taken from the build cache.
+ * The tasks that consume the output share one instance through the build service, so the file is read and the
+ * include/exclude patterns of the publisher are matched once per artifact.
+ */
+public class TaskDeployDetails implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String taskPath;
+    private final String projectPath;
+    private final String projectName;
+    private final Map<String, String> clientConfigProperties;
+    private final Map<String, String> buildProperties;
+    private final File deployDetailsFile;
+    // Read on first use, not serialized with the task
+    private transient Set<GradleDeployDetails> deployDetails;
+
+    /**
+     * @param taskPath               - the path of the task that collected the details
+     * @param projectPath            - the path of the task's project
+     * @param projectName            - the name of the task's project
+     * @param clientConfigProperties - the client configuration of the project's publisher, or null if the project has no publisher
+     * @param buildProperties        - the properties of this build to add to the artifacts
+     * @param deployDetailsFile      - the file that the task wrote the details to
+     */
+    public TaskDeployDetails(String taskPath, String projectPath, String projectName, Map<String, String> clientConfigProperties,
+                             Map<String, String> buildProperties, File deployDetailsFile) {
+        this.taskPath = taskPath;
+        this.projectPath = projectPath;
+        this.projectName = projectName;
+        this.clientConfigProperties = clientConfigProperties != null ? new HashMap<>(clientConfigProperties) : null;
+        this.buildProperties = new HashMap<>(buildProperties);
+        this.deployDetailsFile = deployDetailsFile;
+    }
+
+    public String getTaskPath() {
+        return taskPath;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    /**
+     * @return a new copy of the client configuration of the project's publisher, or null if the project has no publisher
+     */
+    public ArtifactoryClientConfiguration getClientConfig() {
+        return clientConfigProperties != null ? ExtensionsUtils.createClientConfig(clientConfigProperties) : null;
+    }
+
+    /**
+     * @return the collected deploy details, read from the task's output file
+     */
+    public synchronized Set<GradleDeployDetails> getDeployDetails() {
+        if (deployDetails == null) {
+            ArtifactoryClientConfiguration clientConfig = getClientConfig();
+            IncludeExcludeMatcher matcher = IncludeExcludeMatcher.of(clientConfig != null ? clientConfig.publisher : null);
+            try {
+                deployDetails = DeployDetailsFile.read(deployDetailsFile, projectPath, matcher, buildProperties);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed reading the deploy details of " + taskPath + " from " + deployDetailsFile, e);
+            }
+        }
+        return deployDetails;
+    }
+}
@@ -18,6 +18,16 @@ public class PublisherConfig {
 
     // Configure global task that will be applied to all the projects
     Action<ArtifactoryTask> defaultsAction;
+    // Maximum number of concurrent connections to each Artifactory instance, defaults to the fork count
+    private Integer maxConnectionsPerRoute;
+    // Write and publish the build-info one module at a time, without holding it in memory
+    private boolean streamBuildInfo;
+    // Skip deploying artifacts that are identical to their last successful deployment
+    private boolean incrementalDeploy;
+    // Adapt the number of concurrent uploads to Artifactory's responses, up to the fork count
+    private boolean adaptiveForkCount;
+    // Deploy the artifacts of each project as soon as they are collected, while the rest of the build runs
+    private boolean pipelinedDeploy;
 
     @Inject
     public PublisherConfig(ObjectFactory objectFactory, ArtifactoryPluginConvention extension) {
@@ -64,6 +74,51 @@ public class PublisherConfig {
         this.publisher.setPublishForkCount(forkCount);
     }
 
+    public Integer getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    @SuppressWarnings("unused")
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public boolean isStreamBuildInfo() {
+        return streamBuildInfo;
+    }
+
+    @SuppressWarnings("unused")
+    public void setStreamBuildInfo(boolean streamBuildInfo) {
+        this.streamBuildInfo = streamBuildInfo;
+    }
+
+    public boolean isIncrementalDeploy() {
+        return incrementalDeploy;
+    }
+
+    @SuppressWarnings("unused")
+    public void setIncrementalDeploy(boolean incrementalDeploy) {
+        this.incrementalDeploy = incrementalDeploy;
+    }
+
+    public boolean isAdaptiveForkCount() {
+        return adaptiveForkCount;
+    }
+
+    @SuppressWarnings("unused")
+    public void setAdaptiveForkCount(boolean adaptiveForkCount) {
+        this.adaptiveForkCount = adaptiveForkCount;
+    }
+
+    public boolean isPipelinedDeploy() {
+        return pipelinedDeploy;
+    }
+
+    @SuppressWarnings("unused")
+    public void setPipelinedDeploy(boolean pipelinedDeploy) {
+        this.pipelinedDeploy = pipelinedDeploy;
+    }
+
     @SuppressWarnings("unused")
     public void repository(Action<Repository> repositoryAction) {
         repositoryAction.execute(repository);
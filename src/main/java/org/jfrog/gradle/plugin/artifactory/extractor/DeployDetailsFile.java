@@ -0,0 +1,111 @@
+package org.jfrog.gradle.plugin.artifactory.extractor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.utils.IncludeExcludeMatcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The deploy details that an Artifactory task collected, saved to the task's output file.
+ * The artifacts files are kept relative to the directory of the file, so the file can be restored from the Gradle build cache
+ * in another location. Each artifact holds its publish info, deploy path, target repository, properties and checksums.
+ * The properties that are specific to a build are not written, so the file is the same in all the builds with the same artifacts.
+ */
+public class DeployDetailsFile {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private DeployDetailsFile() {
+    }
+
+    /**
+     * Write the collected deploy details to a file.
+     *
+     * @param file      - the file to write
+     * @param collected - the deploy details of each collected publication artifact, in the order to write them
+     */
+    public static void write(File file, Map<PublicationArtifact, GradleDeployDetails> collected) throws IOException {
+        Path directory = file.getAbsoluteFile().getParentFile().toPath();
+        ObjectNode root = mapper.createObjectNode();
+        ArrayNode artifacts = root.putArray("artifacts");
+        for (Map.Entry<PublicationArtifact, GradleDeployDetails> entry : collected.entrySet()) {
+            PublicationArtifact publicationArtifact = entry.getKey();
+            PublishArtifactInfo artifactInfo = publicationArtifact.getArtifactInfo();
+            DeployDetails deployDetails = entry.getValue().getDeployDetails();
+            ObjectNode artifact = artifacts.addObject();
+            artifact.put("file", getRelativePath(directory, artifactInfo.getFile()));
+            artifact.put("name", artifactInfo.getName());
+            artifact.put("extension", artifactInfo.getExtension());
+            artifact.put("type", artifactInfo.getType());
+            artifact.put("classifier", artifactInfo.getClassifier());
+            artifact.put("path", publicationArtifact.getArtifactPath());
+            artifact.put("repository", publicationArtifact.getTargetRepository());
+            artifact.put("md5", deployDetails.getMd5());
+            artifact.put("sha1", deployDetails.getSha1());
+            artifact.put("sha256", deployDetails.getSha256());
+            ObjectNode properties = artifact.putObject("properties");
+            new TreeMap<>(publicationArtifact.getProperties()).forEach(properties::put);
+        }
+        Files.createDirectories(directory);
+        mapper.writeValue(file, root);
+    }
+
+    /**
+     * Read the deploy details from a file, and decide whether the publisher's patterns exclude each of them.
+     *
+     * @param file            - the file to read
+     * @param projectPath     - the path of the project that collected the details
+     * @param matcher         - the include/exclude patterns of the project's publisher
+     * @param buildProperties - the properties of this build to add to each artifact, unless the artifact sets them itself
+     * @return the deploy details, empty if the file does not exist
+     */
+    public static Set<GradleDeployDetails> read(File file, String projectPath, IncludeExcludeMatcher matcher, Map<String, String> buildProperties) throws IOException {
+        Set<GradleDeployDetails> deployDetails = new TreeSet<>();
+        if (!file.isFile()) {
+            return deployDetails;
+        }
+        Path directory = file.getAbsoluteFile().getParentFile().toPath();
+        for (JsonNode artifact : mapper.readTree(file).path("artifacts")) {
+            File artifactFile = directory.resolve(artifact.get("file").asText()).normalize().toFile();
+            PublishArtifactInfo artifactInfo = new PublishArtifactInfo(getText(artifact, "name"), getText(artifact, "extension"),
+                    getText(artifact, "type"), getText(artifact, "classifier"), artifactFile);
+            Map<String, String> properties = new HashMap<>(buildProperties);
+            artifact.path("properties").fields().forEachRemaining(property -> properties.put(property.getKey(), property.getValue().asText()));
+            String artifactPath = getText(artifact, "path");
+            DeployDetails details = new DeployDetails.Builder()
+                    .file(artifactFile)
+                    .packageType(DeployDetails.PackageType.GRADLE)
+                    .md5(getText(artifact, "md5"))
+                    .sha1(getText(artifact, "sha1"))
+                    .sha256(getText(artifact, "sha256"))
+                    .artifactPath(artifactPath)
+                    .targetRepository(getText(artifact, "repository"))
+                    .addProperties(properties)
+                    .build();
+            deployDetails.add(new GradleDeployDetails(artifactInfo, details, projectPath, matcher.isExcluded(artifactPath)));
+        }
+        return deployDetails;
+    }
+
+    private static String getRelativePath(Path directory, File file) {
+        Path path = file.getAbsoluteFile().toPath();
+        try {
+            return directory.relativize(path).toString().replace(File.separatorChar, '/');
+        } catch (IllegalArgumentException e) {
+            // On a different root
+            return path.toString();
+        }
+    }
+
+    private static String getText(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
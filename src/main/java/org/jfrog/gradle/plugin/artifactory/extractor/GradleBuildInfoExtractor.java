@@ -1,5 +1,9 @@
 package org.jfrog.gradle.plugin.artifactory.extractor;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.Project;
 import org.gradle.api.logging.Logger;
@@ -7,6 +11,7 @@ import org.gradle.api.logging.Logging;
 import org.jfrog.build.api.builder.PromotionStatusBuilder;
 import org.jfrog.build.api.release.Promotion;
 import org.jfrog.build.extractor.BuildInfoExtractor;
+import org.jfrog.build.extractor.BuildInfoExtractorUtils;
 import org.jfrog.build.extractor.ModuleExtractorUtils;
 import org.jfrog.build.extractor.builder.BuildInfoBuilder;
 import org.jfrog.build.extractor.ci.*;
@@ -16,6 +21,7 @@ import org.jfrog.build.extractor.packageManager.PackageManagerUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -27,6 +33,7 @@ import static org.jfrog.gradle.plugin.artifactory.Constant.*;
 public class GradleBuildInfoExtractor implements BuildInfoExtractor<Project> {
 
     private static final Logger log = Logging.getLogger(GradleBuildInfoExtractor.class);
+    private static final String MODULES_FIELD = "modules";
 
     private final ArtifactoryClientConfiguration clientConf;
     private final List<ModuleInfoFileProducer> moduleInfoFileProducers;
@@ -38,22 +45,88 @@ public class GradleBuildInfoExtractor implements BuildInfoExtractor<Project> {
 
     @Override
     public BuildInfo extract(Project rootProject) {
-        BuildInfo buildInfo = createBuildInfoBuilder().build();
+        return extract();
+    }
+
+    /**
+     * Extract the build-info from the client configuration and the module info files, without the root project.
+     *
+     * @return the build-info
+     */
+    public BuildInfo extract() {
+        BuildInfo buildInfo = createBuildInfoBuilder(true).build();
         PackageManagerUtils.collectEnvAndFilterProperties(clientConf, buildInfo);
         log.debug("BuildInfo extracted = " + buildInfo);
         return buildInfo;
     }
 
+    /**
+     * Extract the build-info straight to a JSON file.
+     * The modules are copied to the file one at a time from the module info files, so the entire build-info is never
+     * held in memory.
+     *
+     * @param toFile - the file to write the build-info to
+     */
+    public void extractToFile(File toFile) throws IOException {
+        BuildInfo buildInfo = createBuildInfoBuilder(false).build();
+        PackageManagerUtils.collectEnvAndFilterProperties(clientConf, buildInfo);
+        ObjectMapper mapper = new ObjectMapper();
+        // Serialized by the build-info library, to keep its JSON format
+        JsonNode buildInfoNode = mapper.readTree(BuildInfoExtractorUtils.buildInfoToJsonString(buildInfo));
+        Files.createDirectories(toFile.getAbsoluteFile().getParentFile().toPath());
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(toFile, JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> fields = buildInfoNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!MODULES_FIELD.equals(field.getKey())) {
+                    generator.writeFieldName(field.getKey());
+                    generator.writeTree(field.getValue());
+                }
+            }
+            writeModules(mapper, generator);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Write the modules field, copying each of the module info files with artifacts or dependencies.
+     */
+    private void writeModules(ObjectMapper mapper, JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart(MODULES_FIELD);
+        for (File moduleFile : getModuleInfoFiles()) {
+            JsonNode module;
+            try {
+                module = mapper.readTree(moduleFile);
+            } catch (IOException e) {
+                throw new RuntimeException("Cannot load module info from file: " + moduleFile.getAbsolutePath(), e);
+            }
+            if (hasElements(module, "artifacts") || hasElements(module, "dependencies")) {
+                generator.writeTree(module);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private static boolean hasElements(JsonNode module, String fieldName) {
+        JsonNode field = module.get(fieldName);
+        return field != null && field.isArray() && field.size() > 0;
+    }
+
     /**
      * Creates a builder for this project filled with all the collected information and ready to be built.
      *
+     * @param includeModules - if false, the modules are not read and the builder has no modules
      * @return BuildInfoBuilder with fields sets by the client configurations, ready to be used.
      */
-    private BuildInfoBuilder createBuildInfoBuilder() {
+    private BuildInfoBuilder createBuildInfoBuilder(boolean includeModules) {
         BuildInfoBuilder bib = createBaseBuilder();
 
         // Dependencies & Artifacts
-        populateBuilderModulesFields(bib);
+        if (includeModules) {
+            populateBuilderModulesFields(bib);
+        }
 
         // Run Parameters (Properties)
         for (Map.Entry<String, String> runParam : clientConf.info.getRunParameters().entrySet()) {
@@ -91,12 +164,7 @@ public class GradleBuildInfoExtractor implements BuildInfoExtractor<Project> {
      * @param bib - the builder to set its fields
      */
     private void populateBuilderModulesFields(BuildInfoBuilder bib) {
-        Set<File> moduleFilesWithModules = moduleInfoFileProducers.stream()
-                .filter(ModuleInfoFileProducer::hasModules)
-                .flatMap(moduleInfoFileProducer -> moduleInfoFileProducer.getModuleInfoFiles().getFiles().stream())
-                .collect(Collectors.toSet());
-
-        moduleFilesWithModules.forEach(moduleFile -> {
+        getModuleInfoFiles().forEach(moduleFile -> {
             try {
                 Module module = ModuleExtractorUtils.readModuleFromFile(moduleFile);
                 List<Artifact> artifacts = module.getArtifacts();
@@ -110,6 +178,16 @@ public class GradleBuildInfoExtractor implements BuildInfoExtractor<Project> {
         });
     }
 
+    /**
+     * Get the module info files of the producers that have modules
+     */
+    private Set<File> getModuleInfoFiles() {
+        return moduleInfoFileProducers.stream()
+                .filter(ModuleInfoFileProducer::hasModules)
+                .flatMap(moduleInfoFileProducer -> moduleInfoFileProducer.getModuleInfoFiles().getFiles().stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
     private void populateBuilderArtifactoryPluginVersionField(BuildInfoBuilder bib) {
         String artifactoryPluginVersion = clientConf.info.getArtifactoryPluginVersion();
         if (StringUtils.isBlank(artifactoryPluginVersion)) {
@@ -1,6 +1,5 @@
 package org.jfrog.gradle.plugin.artifactory.extractor;
 
-import org.gradle.api.Project;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
 
 import java.util.Objects;
@@ -11,26 +10,40 @@ import java.util.Objects;
 public class GradleDeployDetails implements Comparable<GradleDeployDetails> {
     private final DeployDetails deployDetails;
     private final PublishArtifactInfo publishArtifact;
-    private final Project project;
+    private final String projectPath;
+    // Whether the publisher's include/exclude patterns exclude the artifact, decided once for its path
+    private final boolean excluded;
 
-    public GradleDeployDetails(PublishArtifactInfo publishArtifact, DeployDetails deployDetails, Project project) {
+    public GradleDeployDetails(PublishArtifactInfo publishArtifact, DeployDetails deployDetails, String projectPath) {
+        this(publishArtifact, deployDetails, projectPath, false);
+    }
+
+    public GradleDeployDetails(PublishArtifactInfo publishArtifact, DeployDetails deployDetails, String projectPath, boolean excluded) {
         this.deployDetails = deployDetails;
         this.publishArtifact = publishArtifact;
-        this.project = project;
+        this.projectPath = projectPath;
+        this.excluded = excluded;
     }
 
     public DeployDetails getDeployDetails() {
         return deployDetails;
     }
 
-    public Project getProject() {
-        return project;
+    public String getProjectPath() {
+        return projectPath;
     }
 
     public PublishArtifactInfo getPublishArtifact() {
         return publishArtifact;
     }
 
+    /**
+     * @return true if the artifact is excluded from the deployment by the publisher's include/exclude patterns
+     */
+    public boolean isExcluded() {
+        return excluded;
+    }
+
     public int compareTo(GradleDeployDetails that) {
         if (this.publishArtifact == null) {
             return -1;
@@ -52,17 +65,29 @@ public class GradleDeployDetails implements Comparable<GradleDeployDetails> {
         if (thatExtension == null) {
             return 1;
         }
-        thisExtension = thisExtension.toLowerCase();
-        if ("xml".equals(thisExtension) || "pom".equals(thisExtension)) {
+        if (isDescriptorExtension(thisExtension)) {
             return 1;
         }
-        thatExtension = thatExtension.toLowerCase();
-        if ("xml".equals(thatExtension) || "pom".equals(thatExtension)) {
+        if (isDescriptorExtension(thatExtension)) {
             return -1;
         }
         return compareDeployDetails;
     }
 
+    /**
+     * Check if this artifact is a module descriptor (pom / ivy), which should be deployed after the rest of the module's artifacts.
+     *
+     * @return true if the artifact is a module descriptor
+     */
+    public boolean isDescriptor() {
+        return publishArtifact != null && publishArtifact.getExtension() != null && isDescriptorExtension(publishArtifact.getExtension());
+    }
+
+    private static boolean isDescriptorExtension(String extension) {
+        String lowerCaseExtension = extension.toLowerCase();
+        return "xml".equals(lowerCaseExtension) || "pom".equals(lowerCaseExtension);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -74,11 +99,11 @@ public class GradleDeployDetails implements Comparable<GradleDeployDetails> {
         GradleDeployDetails that = (GradleDeployDetails) o;
         return Objects.equals(deployDetails, that.deployDetails) &&
                 Objects.equals(publishArtifact, that.publishArtifact) &&
-                Objects.equals(project, that.project);
+                Objects.equals(projectPath, that.projectPath);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(deployDetails, publishArtifact, project);
+        return Objects.hash(deployDetails, publishArtifact, projectPath);
     }
 }
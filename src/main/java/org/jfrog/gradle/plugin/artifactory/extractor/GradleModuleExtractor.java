@@ -1,42 +1,32 @@
 package org.jfrog.gradle.plugin.artifactory.extractor;
 
 import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.GradleException;
 import org.gradle.api.Project;
-import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ArtifactCollection;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
-import org.gradle.api.artifacts.result.DependencyResult;
 import org.gradle.api.artifacts.result.ResolvedArtifactResult;
-import org.gradle.api.artifacts.result.ResolvedComponentResult;
-import org.gradle.api.artifacts.result.ResolvedDependencyResult;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.jfrog.build.api.builder.ModuleType;
-import org.jfrog.build.api.util.FileChecksumCalculator;
 import org.jfrog.build.extractor.ModuleExtractor;
 import org.jfrog.build.extractor.builder.ArtifactBuilder;
-import org.jfrog.build.extractor.builder.DependencyBuilder;
 import org.jfrog.build.extractor.builder.ModuleBuilder;
 import org.jfrog.build.extractor.ci.Artifact;
-import org.jfrog.build.extractor.ci.Dependency;
 import org.jfrog.build.extractor.ci.Module;
-import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryBuildService;
 import org.jfrog.gradle.plugin.artifactory.ArtifactoryPlugin;
-import org.jfrog.gradle.plugin.artifactory.listener.ArtifactoryDependencyResolutionListener;
-import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
-import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
+import org.jfrog.gradle.plugin.artifactory.Constant;
+import org.jfrog.gradle.plugin.artifactory.deploy.TaskDeployDetails;
+import org.jfrog.gradle.plugin.artifactory.task.ExtractModuleTask;
 import org.jfrog.gradle.plugin.artifactory.utils.ProjectUtils;
-import org.jfrog.gradle.plugin.artifactory.utils.TaskUtils;
 
 import java.io.File;
-import java.io.IOException;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
-import static org.jfrog.build.api.util.FileChecksumCalculator.*;
 import static org.jfrog.build.extractor.BuildInfoExtractorUtils.getTypeString;
 import static org.jfrog.gradle.plugin.artifactory.utils.PluginUtils.getModuleType;
 
@@ -45,33 +35,45 @@ public class GradleModuleExtractor implements ModuleExtractor<Project> {
 
     @Override
     public Module extractModule(Project project) {
-        ArtifactoryTask artifactoryTask = TaskUtils.findExecutedCollectionTask(project);
-        ModuleType moduleType = artifactoryTask != null ? getModuleType(artifactoryTask.getModuleType()) : ModuleType.GRADLE;
-        Set<GradleDeployDetails> gradleDeployDetails = getCollectedDeployDetails(artifactoryTask);
-        return getModuleBuilder(project, moduleType, gradleDeployDetails).build();
+        ArtifactoryBuildService buildService = project.getRootProject().getPlugins().getPlugin(ArtifactoryPlugin.class).getBuildService().get();
+        ExtractModuleTask extractModuleTask = project.getTasks().withType(ExtractModuleTask.class).getByName(Constant.EXTRACT_MODULE_TASK_NAME);
+        return extractModuleSnapshot(extractModuleTask).toModule(buildService.getDependenciesChecksumCache());
     }
 
     /**
-     * Get all the deployment details that the ArtifactoryTask collected for the given project.
+     * Extract the module details from the inputs of a given task, without hashing its dependencies.
      *
-     * @param artifactoryTask - the task to extract its details.
+     * @param extractModuleTask - the task that holds the module's inputs
+     * @return the module details, which can be completed without the project
      */
-    private Set<GradleDeployDetails> getCollectedDeployDetails(ArtifactoryTask artifactoryTask) {
-        if (artifactoryTask == null) {
+    public ModuleSnapshot extractModuleSnapshot(ExtractModuleTask extractModuleTask) {
+        ModuleType moduleType = getModuleType(extractModuleTask.getModuleType().getOrNull());
+        Set<GradleDeployDetails> gradleDeployDetails = getCollectedDeployDetails(extractModuleTask);
+        return getModuleSnapshot(extractModuleTask, moduleType, gradleDeployDetails);
+    }
+
+    /**
+     * Get all the deployment details that the ArtifactoryTask collected for the module in this build.
+     *
+     * @param extractModuleTask - the task that holds the collected details
+     */
+    private Set<GradleDeployDetails> getCollectedDeployDetails(ExtractModuleTask extractModuleTask) {
+        TaskDeployDetails collectedDeployDetails = extractModuleTask.getCollectedDeployDetails();
+        if (collectedDeployDetails == null) {
             return new HashSet<>();
         }
-        return artifactoryTask.getDeployDetails();
+        return collectedDeployDetails.getDeployDetails();
     }
 
     /**
-     * Create a ModuleBuilder ready to be built for the given project and deployment details
+     * Create a ModuleSnapshot for the given module inputs and deployment details
      *
-     * @param project             - project to extract module details
+     * @param extractModuleTask   - the task that holds the module's inputs
      * @param moduleType          - module type
      * @param gradleDeployDetails - module deployment details
      */
-    private ModuleBuilder getModuleBuilder(Project project, ModuleType moduleType, Set<GradleDeployDetails> gradleDeployDetails) {
-        String moduleId = ProjectUtils.getId(project);
+    private ModuleSnapshot getModuleSnapshot(ExtractModuleTask extractModuleTask, ModuleType moduleType, Set<GradleDeployDetails> gradleDeployDetails) {
+        String moduleId = extractModuleTask.getModuleId().get();
         String repo = gradleDeployDetails.stream()
                 .map(GradleDeployDetails::getDeployDetails)
                 .map(DeployDetails::getTargetRepository)
@@ -81,28 +83,32 @@ public class GradleModuleExtractor implements ModuleExtractor<Project> {
                 .type(moduleType)
                 .id(moduleId)
                 .repository(repo);
+        List<ModuleSnapshot.DependencySnapshot> dependencies = new ArrayList<>();
         try {
             // Extract the module's dependencies
-            builder.dependencies(calculateDependencies(project, moduleId));
+            dependencies = calculateDependencies(extractModuleTask);
             // Extract the module's artifacts
-            ArtifactoryClientConfiguration.PublisherHandler publisher = ExtensionsUtils.getPublisherHandler(project);
-            if (publisher == null) {
-                log.warn("No publisher config found for project: " + project.getName());
-                return builder;
+            Boolean filterExcludedArtifactsFromBuild = extractModuleTask.getFilterExcludedArtifactsFromBuild().getOrNull();
+            if (filterExcludedArtifactsFromBuild == null) {
+                log.warn("No publisher config found for project: " + extractModuleTask.getProjectPath());
+                return new ModuleSnapshot(builder.build(), dependencies);
             }
-            builder.excludedArtifacts(calculateArtifacts(ProjectUtils.filterIncludeExcludeDetails(project, publisher, gradleDeployDetails, false)));
-            builder.artifacts(calculateArtifacts(ProjectUtils.filterIncludeExcludeDetails(project, publisher, gradleDeployDetails, true)));
+            String projectPath = extractModuleTask.getProjectPath();
+            Map<Boolean, List<GradleDeployDetails>> partitionedDetails = ProjectUtils.partitionIncludeExcludeDetails(projectPath, filterExcludedArtifactsFromBuild, gradleDeployDetails);
+            builder.excludedArtifacts(calculateArtifacts(partitionedDetails.get(false)));
+            builder.artifacts(calculateArtifacts(partitionedDetails.get(true)));
         } catch (Exception e) {
-            log.error("Error occur during extraction: ", e);
+            // Fail the task, so incomplete module details are not cached as its output
+            throw new GradleException("Failed extracting the module details of project '" + extractModuleTask.getProjectPath() + "'", e);
         }
-        return builder;
+        return new ModuleSnapshot(builder.build(), dependencies);
     }
 
     /**
      * Extract Artifacts from the given deploy details
      */
-    private List<Artifact> calculateArtifacts(Iterable<GradleDeployDetails> deployDetails) {
-        return StreamSupport.stream(deployDetails.spliterator(), false).map(from -> {
+    private List<Artifact> calculateArtifacts(List<GradleDeployDetails> deployDetails) {
+        return deployDetails.stream().map(from -> {
             PublishArtifactInfo publishArtifact = from.getPublishArtifact();
             DeployDetails artifactDeployDetails = from.getDeployDetails();
             String artifactPath = artifactDeployDetails.getArtifactPath();
@@ -117,87 +123,66 @@ public class GradleModuleExtractor implements ModuleExtractor<Project> {
     }
 
     /**
-     * Extract a given project dependencies from the information collected by the resolutionListener
+     * Extract the module's dependencies from the resolved artifacts of its configurations,
+     * with the hierarchy collected by the resolutionListener
      */
-    private List<Dependency> calculateDependencies(Project project, String moduleId) throws Exception {
-        ArtifactoryDependencyResolutionListener artifactoryDependencyResolutionListener =
-                project.getRootProject().getPlugins().getPlugin(ArtifactoryPlugin.class).getResolutionListener();
-        Map<String, String[][]> requestedByMap = artifactoryDependencyResolutionListener.getModulesHierarchyMap().get(moduleId);
-
-        Set<Configuration> configurationSet = project.getConfigurations();
-        List<Dependency> dependencies = new ArrayList<>();
-        for (Configuration configuration : configurationSet) {
-            if (configuration.getState() != Configuration.State.RESOLVED) {
-                log.info("Artifacts for configuration '{}' were not all resolved, skipping", configuration.getName());
-                continue;
-            }
-            Set<? extends DependencyResult> dependencyResults = configuration.getIncoming().getResolutionResult().getAllDependencies();
-            for (ResolvedArtifactResult artifact : configuration.getIncoming().artifactView(view -> view.setLenient(true)).getArtifacts()) {
-                Dependency extractedDependency = extractDependencyFromResolvedArtifact(configuration, artifact, dependencyResults, requestedByMap, dependencies);
+    private List<ModuleSnapshot.DependencySnapshot> calculateDependencies(ExtractModuleTask extractModuleTask) {
+        Map<String, String[][]> requestedByMap = extractModuleTask.getRequestedBy();
+        Map<String, String> projectModuleIds = extractModuleTask.getProjectModuleIds().get();
+        // Dependencies by ID, in the order they were first found
+        Map<String, ModuleSnapshot.DependencySnapshot> dependencies = new LinkedHashMap<>();
+        for (Map.Entry<String, ArtifactCollection> configuration : extractModuleTask.getResolvedDependencies().get().entrySet()) {
+            for (ResolvedArtifactResult artifact : configuration.getValue()) {
+                ModuleSnapshot.DependencySnapshot extractedDependency = extractDependencyFromResolvedArtifact(configuration.getKey(), artifact, projectModuleIds, requestedByMap, dependencies);
                 if (extractedDependency == null) {
                     continue;
                 }
-                dependencies.add(extractedDependency);
+                dependencies.put(extractedDependency.getId(), extractedDependency);
             }
         }
-        return dependencies;
+        return new ArrayList<>(dependencies.values());
     }
 
-    private Dependency extractDependencyFromResolvedArtifact(Configuration configuration, ResolvedArtifactResult artifact, Set<? extends DependencyResult> dependencyResults,
-                                                             Map<String, String[][]> requestedByMap, List<Dependency> dependencies) throws NoSuchAlgorithmException, IOException {
+    private ModuleSnapshot.DependencySnapshot extractDependencyFromResolvedArtifact(String configurationName, ResolvedArtifactResult artifact, Map<String, String> projectModuleIds,
+                                                                            Map<String, String[][]> requestedByMap, Map<String, ModuleSnapshot.DependencySnapshot> dependencies) {
         File file = artifact.getFile();
         if (!file.exists()) {
             return null;
         }
-        String depId = extractDependencyId(artifact, dependencyResults);
-        Dependency existingDependency = dependencies.stream()
-                .filter(input -> input.getId().equals(depId)).findAny().orElse(null);
+        String depId = extractDependencyId(artifact, projectModuleIds);
+        ModuleSnapshot.DependencySnapshot existingDependency = dependencies.get(depId);
         if (existingDependency != null) {
             // Already extracted, update the dependency with the artifact info
-            Set<String> existingScopes = existingDependency.getScopes();
-            existingScopes.add(configuration.getName());
-            existingDependency.setScopes(existingScopes);
+            existingDependency.addScope(configurationName);
             return null;
         }
-        // New dependency to extract
-        Set<String> scopes = new HashSet<>();
-        scopes.add(configuration.getName());
-        DependencyBuilder dependencyBuilder = new DependencyBuilder()
-                .type(StringUtils.substringAfterLast(file.getName(), "."))
-                .id(depId)
-                .scopes(scopes);
-        if (requestedByMap != null) {
-            dependencyBuilder.requestedBy(requestedByMap.get(depId));
-        }
-        if (file.isFile()) {
-            // In gradle builds (3.4+) subproject dependencies are represented by a dir not jar.
-            Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(file, MD5_ALGORITHM, SHA1_ALGORITHM, SHA256_ALGORITHM);
-            dependencyBuilder.md5(checksums.get(MD5_ALGORITHM)).sha1(checksums.get(SHA1_ALGORITHM)).sha256(checksums.get(SHA256_ALGORITHM));
-        }
-        return dependencyBuilder.build();
+        // New dependency to extract.
+        // In gradle builds (3.4+) subproject dependencies are represented by a dir not jar, only files are hashed.
+        ModuleSnapshot.DependencySnapshot dependency = new ModuleSnapshot.DependencySnapshot(depId,
+                StringUtils.substringAfterLast(file.getName(), "."),
+                requestedByMap != null ? requestedByMap.get(depId) : null,
+                file.isFile() ? file : null);
+        dependency.addScope(configurationName);
+        return dependency;
     }
 
     /**
-     * Extract the dependency ID from the resolved artifact and the set of resolved dependencies.
+     * Extract the dependency ID from the resolved artifact.
      *
-     * @param artifact          - The resolved artifact
-     * @param dependencyResults - The set of resolved dependencies
-     * @return the dependency ID.
+     * @param artifact         - The resolved artifact
+     * @param projectModuleIds - The module versions that the project components resolved to, by component display name
+     * @return the dependency ID. The display name of the project if the artifact belongs to an unknown project.
      */
-    private String extractDependencyId(ResolvedArtifactResult artifact, Set<? extends DependencyResult> dependencyResults) {
+    public static String extractDependencyId(ResolvedArtifactResult artifact, Map<String, String> projectModuleIds) {
         ComponentIdentifier identifier = artifact.getId().getComponentIdentifier();
         if (!(identifier instanceof ProjectComponentIdentifier)) {
             return identifier.getDisplayName();
         }
-        ResolvedComponentResult resolvedDependencyResult = dependencyResults.stream()
-                .filter(dependencyResult -> dependencyResult instanceof ResolvedDependencyResult)
-                .map(dependencyResult -> (ResolvedDependencyResult) dependencyResult)
-                .map(ResolvedDependencyResult::getSelected)
-                .filter(dependencyResult -> (dependencyResult.getId().equals(identifier))).findAny().orElse(null);
-        if (resolvedDependencyResult == null) {
+        String projectModuleId = projectModuleIds.get(identifier.getDisplayName());
+        if (projectModuleId == null) {
             log.warn("Couldn't find project '{}' inside the list of projects", identifier.getDisplayName());
-            return null;
+            return identifier.getDisplayName();
         }
-        return ProjectUtils.getId(resolvedDependencyResult.getModuleVersion());
+        return projectModuleId;
     }
 }
@@ -0,0 +1,101 @@
+package org.jfrog.gradle.plugin.artifactory.extractor;
+
+import org.gradle.api.GradleException;
+import org.jfrog.build.extractor.builder.DependencyBuilder;
+import org.jfrog.build.extractor.ci.Dependency;
+import org.jfrog.build.extractor.ci.Module;
+import org.jfrog.gradle.plugin.artifactory.checksum.ChecksumCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.*;
+
+import static org.jfrog.build.api.util.FileChecksumCalculator.*;
+
+/**
+ * The details of a module that were extracted from its project, before its dependencies were hashed.
+ * It doesn't reference the project, so the module can be completed in a Gradle worker.
+ */
+public class ModuleSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Module module;
+    private final List<DependencySnapshot> dependencies;
+
+    /**
+     * @param module       - the module with all its details except for its dependencies
+     * @param dependencies - the module's dependencies
+     */
+    public ModuleSnapshot(Module module, List<DependencySnapshot> dependencies) {
+        this.module = module;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Complete the module with its dependencies and their checksums.
+     *
+     * @param checksumCache - the cache to get the dependencies checksums from
+     * @return the module
+     * @throws GradleException if a dependency couldn't be hashed
+     */
+    public Module toModule(ChecksumCache checksumCache) {
+        try {
+            List<Dependency> moduleDependencies = new ArrayList<>();
+            for (DependencySnapshot dependency : dependencies) {
+                moduleDependencies.add(dependency.toDependency(checksumCache));
+            }
+            module.setDependencies(moduleDependencies);
+        } catch (IOException e) {
+            // Fail the task, so a module without its dependencies is not cached as its output
+            throw new GradleException("Failed calculating the dependencies checksums of module '" + module.getId() + "'", e);
+        }
+        return module;
+    }
+
+    public static class DependencySnapshot implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String id;
+        private final String type;
+        private final Set<String> scopes = new HashSet<>();
+        private final String[][] requestedBy;
+        private final File file;
+
+        /**
+         * @param id          - the dependency ID
+         * @param type        - the dependency type
+         * @param requestedBy - the dependency's path in the dependencies tree
+         * @param file        - the dependency file to hash, or null if the dependency is not a file
+         */
+        public DependencySnapshot(String id, String type, String[][] requestedBy, File file) {
+            this.id = id;
+            this.type = type;
+            this.requestedBy = requestedBy;
+            this.file = file;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void addScope(String scope) {
+            scopes.add(scope);
+        }
+
+        private Dependency toDependency(ChecksumCache checksumCache) throws IOException {
+            DependencyBuilder dependencyBuilder = new DependencyBuilder()
+                    .type(type)
+                    .id(id)
+                    .scopes(new HashSet<>(scopes));
+            if (requestedBy != null) {
+                dependencyBuilder.requestedBy(requestedBy);
+            }
+            if (file != null) {
+                Map<String, String> checksums = checksumCache.getChecksums(file);
+                dependencyBuilder.md5(checksums.get(MD5_ALGORITHM)).sha1(checksums.get(SHA1_ALGORITHM)).sha256(checksums.get(SHA256_ALGORITHM));
+            }
+            return dependencyBuilder.build();
+        }
+    }
+}
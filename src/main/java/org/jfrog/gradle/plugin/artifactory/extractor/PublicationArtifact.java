@@ -0,0 +1,96 @@
+package org.jfrog.gradle.plugin.artifactory.extractor;
+
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.checksum.ChecksumCache;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.jfrog.gradle.plugin.artifactory.utils.PublicationUtils.createArtifactBuilder;
+
+/**
+ * An artifact of a publication to deploy, captured from the publication before the build executes.
+ * It holds all the details needed to deploy the artifact without its publication or project, so the task that
+ * collects it can be stored in the configuration cache. The file is checked and hashed when the task executes.
+ */
+public class PublicationArtifact implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final PublishArtifactInfo artifactInfo;
+    private final String publicationName;
+    private final String artifactPath;
+    private final String targetRepository;
+    private final Map<String, String> properties;
+    private final boolean optional;
+
+    /**
+     * @param artifactInfo     - the artifact info
+     * @param publicationName  - the publication name that published this artifact
+     * @param artifactPath     - the full path string to deploy the artifact
+     * @param targetRepository - the repository to deploy the artifact to
+     * @param properties       - the properties to deploy the artifact with
+     * @param optional         - true if the artifact is deployed only if its file exists, like descriptors and signatures
+     */
+    public PublicationArtifact(PublishArtifactInfo artifactInfo, String publicationName, String artifactPath, String targetRepository,
+                               Map<String, String> properties, boolean optional) {
+        this.artifactInfo = artifactInfo;
+        this.publicationName = publicationName;
+        this.artifactPath = artifactPath;
+        this.targetRepository = targetRepository;
+        this.properties = new HashMap<>(properties);
+        this.optional = optional;
+    }
+
+    public PublishArtifactInfo getArtifactInfo() {
+        return artifactInfo;
+    }
+
+    public File getFile() {
+        return artifactInfo.getFile();
+    }
+
+    public String getArtifactPath() {
+        return artifactPath;
+    }
+
+    public String getTargetRepository() {
+        return targetRepository;
+    }
+
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    public boolean isOptional() {
+        return optional;
+    }
+
+    /**
+     * @return the details that the artifact is deployed with, except for its file, to declare as a task input
+     */
+    public String getDeployInput() {
+        return String.join(" ", targetRepository + "/" + artifactPath, artifactInfo.getName(), artifactInfo.getExtension(),
+                artifactInfo.getType(), artifactInfo.getClassifier(), String.valueOf(optional), new TreeMap<>(properties).toString());
+    }
+
+    /**
+     * Create the deploy details of the artifact.
+     *
+     * @param checksumCache - cache of the artifacts checksums
+     * @param projectPath   - the path of the project that published the artifact
+     * @return the deploy details, or null if the artifact is optional and its file does not exist
+     */
+    public GradleDeployDetails toDeployDetails(ChecksumCache checksumCache, String projectPath) {
+        if (optional && !getFile().exists()) {
+            return null;
+        }
+        DeployDetails.Builder builder = createArtifactBuilder(getFile(), publicationName, checksumCache)
+                .artifactPath(artifactPath)
+                .targetRepository(targetRepository)
+                .addProperties(properties);
+        return new GradleDeployDetails(artifactInfo, builder.build(), projectPath);
+    }
+}
@@ -5,13 +5,15 @@ import org.gradle.api.GradleException;
 
 import javax.xml.namespace.QName;
 import java.io.File;
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Describes an Artifact information to be published
  */
-public class PublishArtifactInfo implements Comparable<PublishArtifactInfo> {
+public class PublishArtifactInfo implements Comparable<PublishArtifactInfo>, Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final String name;
     private final String extension;
@@ -30,7 +32,7 @@ public class PublishArtifactInfo implements Comparable<PublishArtifactInfo> {
         this.extension = extension;
         this.type = type;
         this.classifier = classifier;
-        this.extraInfo = extraInfo;
+        this.extraInfo = extraInfo != null ? new HashMap<>(extraInfo) : null;
         this.file = file;
     }
 
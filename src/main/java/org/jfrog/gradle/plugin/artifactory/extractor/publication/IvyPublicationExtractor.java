@@ -6,27 +6,27 @@ import org.gradle.api.publish.ivy.IvyArtifact;
 import org.gradle.api.publish.ivy.IvyPublication;
 import org.gradle.api.publish.ivy.tasks.GenerateIvyDescriptor;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
-import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.extractor.PublicationArtifact;
 import org.jfrog.gradle.plugin.artifactory.extractor.PublishArtifactInfo;
 import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
 import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
+import org.jfrog.gradle.plugin.artifactory.utils.PublicationUtils;
 
 import javax.xml.namespace.QName;
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
-import static org.jfrog.gradle.plugin.artifactory.utils.PublicationUtils.addArtifactInfoToDeployDetails;
-
 public class IvyPublicationExtractor extends PublicationExtractor<IvyPublication> {
 
-    public IvyPublicationExtractor(ArtifactoryTask artifactoryTask) {
-        super(artifactoryTask);
+    public IvyPublicationExtractor(ArtifactoryTask artifactoryTask, List<PublicationArtifact> destination) {
+        super(artifactoryTask, destination);
     }
 
     @Override
-    public void extractDeployDetails(IvyPublication publication) {
+    public void extractArtifacts(IvyPublication publication) {
         // Prepare needed attributes to extract
         Map<QName, String> extraInfo = publication.getDescriptor().getExtraInfo().asMap();
 
@@ -38,7 +38,7 @@ public class IvyPublicationExtractor extends PublicationExtractor<IvyPublication
     }
 
     @Override
-    protected void addArtifactToDeployDetails(IvyPublication publication, DeployDetails.Builder builder, PublishArtifactInfo artifactInfo) {
+    protected void addPublicationArtifact(IvyPublication publication, PublishArtifactInfo artifactInfo, boolean optional) {
         ArtifactoryClientConfiguration.PublisherHandler publisher = ExtensionsUtils.getPublisherHandler(artifactoryTask.getProject());
         if (publisher == null) {
             return;
@@ -62,8 +62,7 @@ public class IvyPublicationExtractor extends PublicationExtractor<IvyPublication
                 publication.getRevision(), artifactInfo.getName(), artifactInfo.getType(),
                 artifactInfo.getExtension(), publication.getName(),
                 extraTokens, null);
-        builder.artifactPath(artifactPath);
-        addArtifactInfoToDeployDetails(artifactoryTask, publication.getName(), builder, artifactInfo, artifactPath);
+        PublicationUtils.addPublicationArtifact(artifactoryTask, destination, publication.getName(), artifactInfo, artifactPath, optional);
     }
 
     @Override
@@ -77,7 +76,8 @@ public class IvyPublicationExtractor extends PublicationExtractor<IvyPublication
     }
 
     /**
-     * Extract deploy details of the Ivy descriptor, if configured to add it and stores them at the given task destination
+     * Extract the Ivy descriptor, if configured to add it and stores it at the destination.
+     * The descriptor is generated later in the build, so it is deployed only if it exists by then.
      */
     private File extractIvyDescriptor(IvyPublication publication, Map<QName, String> extraInfo) {
         if (!isPublishIvy(artifactoryTask)) {
@@ -91,10 +91,7 @@ public class IvyPublicationExtractor extends PublicationExtractor<IvyPublication
             return null;
         }
         File ivyFile = generateIvyDescriptor.getDestination();
-        if (!ivyFile.exists()) {
-            return null;
-        }
-        buildAndPublishArtifactWithSignatures(ivyFile, publication, publication.getModule(), "xml", "ivy", null, extraInfo);
+        buildAndPublishArtifactWithSignatures(ivyFile, publication, publication.getModule(), "xml", "ivy", null, extraInfo, true);
         return ivyFile;
     }
 
@@ -118,7 +115,7 @@ public class IvyPublicationExtractor extends PublicationExtractor<IvyPublication
     }
 
     /**
-     * Extract deploy details of the Ivy artifacts and stores them at the given task destination
+     * Extract the Ivy artifacts and stores them at the destination
      */
     private void extractIvyArtifacts(File ivyFile, IvyPublication publication, Map<QName, String> extraInfo) {
         Set<IvyArtifact> artifacts = publication.getArtifacts();
@@ -128,7 +125,7 @@ public class IvyPublicationExtractor extends PublicationExtractor<IvyPublication
             if (file.equals(ivyFile)) {
                 continue;
             }
-            buildAndPublishArtifactWithSignatures(file, publication, artifact.getName(), artifact.getExtension(), artifact.getType(), artifact.getClassifier(), extraInfo);
+            buildAndPublishArtifactWithSignatures(file, publication, artifact.getName(), artifact.getExtension(), artifact.getType(), artifact.getClassifier(), extraInfo, false);
         }
     }
 }
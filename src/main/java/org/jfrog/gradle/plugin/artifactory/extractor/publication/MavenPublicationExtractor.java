@@ -7,25 +7,25 @@ import org.gradle.api.publish.maven.MavenPublication;
 import org.gradle.api.publish.maven.tasks.GenerateMavenPom;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.LayoutPatterns;
-import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.extractor.PublicationArtifact;
 import org.jfrog.gradle.plugin.artifactory.extractor.PublishArtifactInfo;
 import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
 import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
+import org.jfrog.gradle.plugin.artifactory.utils.PublicationUtils;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-import static org.jfrog.gradle.plugin.artifactory.utils.PublicationUtils.addArtifactInfoToDeployDetails;
-
 public class MavenPublicationExtractor extends PublicationExtractor<MavenPublication> {
 
-    public MavenPublicationExtractor(ArtifactoryTask artifactoryTask) {
-        super(artifactoryTask);
+    public MavenPublicationExtractor(ArtifactoryTask artifactoryTask, List<PublicationArtifact> destination) {
+        super(artifactoryTask, destination);
     }
 
     @Override
-    public void extractDeployDetails(MavenPublication publication) {
+    public void extractArtifacts(MavenPublication publication) {
         // First adding the Maven descriptor (if the build is configured to add it):
         extractMavenDescriptor(publication);
 
@@ -34,7 +34,7 @@ public class MavenPublicationExtractor extends PublicationExtractor<MavenPublica
     }
 
     @Override
-    protected void addArtifactToDeployDetails(MavenPublication publication, DeployDetails.Builder builder, PublishArtifactInfo artifactInfo) {
+    protected void addPublicationArtifact(MavenPublication publication, PublishArtifactInfo artifactInfo, boolean optional) {
         Map<String, String> extraTokens = artifactInfo.getExtraTokens();
         String artifactPath = IvyPatternHelper.substitute(
                 LayoutPatterns.M2_PATTERN, publication.getGroupId().replace(".", "/"),
@@ -43,8 +43,7 @@ public class MavenPublicationExtractor extends PublicationExtractor<MavenPublica
                 artifactInfo.getName(), artifactInfo.getType(),
                 artifactInfo.getExtension(), publication.getName(),
                 extraTokens, null);
-        builder.artifactPath(artifactPath);
-        addArtifactInfoToDeployDetails(artifactoryTask, publication.getName(), builder, artifactInfo, artifactPath);
+        PublicationUtils.addPublicationArtifact(artifactoryTask, destination, publication.getName(), artifactInfo, artifactPath, optional);
     }
 
     @Override
@@ -58,7 +57,8 @@ public class MavenPublicationExtractor extends PublicationExtractor<MavenPublica
     }
 
     /**
-     * Extract deploy details of the Maven descriptor, if configured to add it and stores them at the given task destination
+     * Extract the Maven descriptor, if configured to add it and stores it at the destination.
+     * The descriptor is generated later in the build, so it is deployed only if it exists by then.
      */
     private void extractMavenDescriptor(MavenPublication publication) {
         if (!isPublishMaven()) {
@@ -72,10 +72,7 @@ public class MavenPublicationExtractor extends PublicationExtractor<MavenPublica
             return;
         }
         File pomFile = generateMavenPom.getDestination();
-        if (!pomFile.exists()) {
-            return;
-        }
-        buildAndPublishArtifactWithSignatures(pomFile, publication, publication.getArtifactId(), "pom", "pom", null, null);
+        buildAndPublishArtifactWithSignatures(pomFile, publication, publication.getArtifactId(), "pom", "pom", null, null, true);
     }
 
     /**
@@ -98,7 +95,7 @@ public class MavenPublicationExtractor extends PublicationExtractor<MavenPublica
     }
 
     /**
-     * Extract deploy details of the Maven artifacts and stores them at the given task destination
+     * Extract the Maven artifacts and stores them at the destination
      */
     private void extractMavenArtifacts(MavenPublication publication) {
         for (MavenArtifact artifact : publication.getArtifacts()) {
@@ -108,6 +105,6 @@ public class MavenPublicationExtractor extends PublicationExtractor<MavenPublica
 
     private void createPublishArtifactInfoAndAddToDeployDetails(MavenArtifact artifact, MavenPublication publication) {
         File file = artifact.getFile();
-        buildAndPublishArtifactWithSignatures(file, publication, publication.getArtifactId(), artifact.getExtension(), artifact.getExtension(), artifact.getClassifier(), null);
+        buildAndPublishArtifactWithSignatures(file, publication, publication.getArtifactId(), artifact.getExtension(), artifact.getExtension(), artifact.getClassifier(), null, false);
     }
 }
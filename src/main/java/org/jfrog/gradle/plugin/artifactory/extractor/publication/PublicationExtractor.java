@@ -3,41 +3,45 @@ package org.jfrog.gradle.plugin.artifactory.extractor.publication;
 import org.gradle.api.publish.Publication;
 import org.gradle.api.publish.tasks.GenerateModuleMetadata;
 import org.gradle.plugins.signing.Sign;
-import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.extractor.PublicationArtifact;
 import org.jfrog.gradle.plugin.artifactory.extractor.PublishArtifactInfo;
 import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
 
 import javax.xml.namespace.QName;
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 
-import static org.jfrog.gradle.plugin.artifactory.utils.PublicationUtils.createArtifactBuilder;
-
 public abstract class PublicationExtractor<ActualPublication extends Publication> {
     protected ArtifactoryTask artifactoryTask;
+    protected final List<PublicationArtifact> destination;
     // Signature types supported by the Signing plugin.
     private final String[] SIGNATURE_EXTENSIONS = {"asc", "sig"};
 
-    public PublicationExtractor(ArtifactoryTask artifactoryTask) {
+    /**
+     * @param artifactoryTask - the task that collects the artifacts
+     * @param destination     - the artifacts to deploy, to add the extracted artifacts to
+     */
+    public PublicationExtractor(ArtifactoryTask artifactoryTask, List<PublicationArtifact> destination) {
         this.artifactoryTask = artifactoryTask;
+        this.destination = destination;
     }
 
     /**
-     * Extract publication artifacts, creates deploy details for it and stores them at the given destination
+     * Extract publication artifacts to deploy and stores them at the destination
      *
-     * @param publication - publication to extract details from
+     * @param publication - publication to extract artifacts from
      */
-    public abstract void extractDeployDetails(ActualPublication publication);
+    public abstract void extractArtifacts(ActualPublication publication);
 
     /**
-     * Adds a given artifact to deploy details in the given task destination.
+     * Adds a given artifact to the destination.
      *
      * @param publication  - Maven or Ivy publication
-     * @param builder      - Deploy details builder
      * @param artifactInfo - The artifact info
+     * @param optional     - If true, the artifact is deployed only if its file exists
      */
-    protected abstract void addArtifactToDeployDetails(ActualPublication publication, DeployDetails.Builder builder,
-                                                       PublishArtifactInfo artifactInfo);
+    protected abstract void addPublicationArtifact(ActualPublication publication, PublishArtifactInfo artifactInfo, boolean optional);
 
     /**
      * Return the artifact ID of the publication.
@@ -57,6 +61,7 @@ public abstract class PublicationExtractor<ActualPublication extends Publication
 
     /**
      * Extract *.module files publications.
+     * The files are generated later in the build, so they are deployed only if they exist by then.
      */
     public void extractModuleInfo() {
         for (GenerateModuleMetadata generateModuleMetadata : artifactoryTask.getProject().getTasks().withType(GenerateModuleMetadata.class)) {
@@ -66,19 +71,15 @@ public abstract class PublicationExtractor<ActualPublication extends Publication
             }
 
             File moduleMetadata = generateModuleMetadata.getOutputFile().getAsFile().get();
-            if (!moduleMetadata.exists()) {
-                continue;
-            }
-
             @SuppressWarnings("unchecked")
             ActualPublication actualPublication = (ActualPublication) publication;
-            buildAndPublishArtifactWithSignatures(moduleMetadata, actualPublication, getPublicationArtifactId(actualPublication), "module", "module", null, null);
+            buildAndPublishArtifactWithSignatures(moduleMetadata, actualPublication, getPublicationArtifactId(actualPublication), "module", "module", null, null, true);
         }
     }
 
     /**
-     * Build and publish the artifact and add it to deploy details.
-     * If the Signing plugin was used, do the same to the artifact's signatures.
+     * Add the artifact to the artifacts to deploy.
+     * If the Signing plugin was used, do the same to the artifact's signatures, if they exist by the time the artifacts are collected.
      *
      * @param file               - The file to publish
      * @param publication        - The publication to extract details from
@@ -87,23 +88,22 @@ public abstract class PublicationExtractor<ActualPublication extends Publication
      * @param artifactType       - The artifact type
      * @param artifactClassifier - The artifact classifier
      * @param extraInfo          - Extra information to add to the deploy details
+     * @param optional           - If true, the artifact is deployed only if its file exists
      */
-    protected void buildAndPublishArtifactWithSignatures(File file, ActualPublication publication, String artifactId, String artifactExtension, String artifactType, String artifactClassifier, Map<QName, String> extraInfo) {
-        buildAndPublishArtifact(file, publication, artifactId, artifactExtension, artifactType, artifactClassifier, extraInfo);
+    protected void buildAndPublishArtifactWithSignatures(File file, ActualPublication publication, String artifactId, String artifactExtension, String artifactType, String artifactClassifier,
+                                                         Map<QName, String> extraInfo, boolean optional) {
+        buildAndPublishArtifact(file, publication, artifactId, artifactExtension, artifactType, artifactClassifier, extraInfo, optional);
         if (!isSignTaskExists()) {
             return;
         }
         for (String signatureExtension : SIGNATURE_EXTENSIONS) {
             File signatureFile = new File(file.getAbsolutePath() + "." + signatureExtension);
-            if (!signatureFile.exists()) {
-                continue;
-            }
-            buildAndPublishArtifact(signatureFile, publication, artifactId, artifactType + "." + signatureExtension, artifactType + "." + signatureExtension, artifactClassifier, extraInfo);
+            buildAndPublishArtifact(signatureFile, publication, artifactId, artifactType + "." + signatureExtension, artifactType + "." + signatureExtension, artifactClassifier, extraInfo, true);
         }
     }
 
     /**
-     * Build and publish the artifact and add it to deploy details.
+     * Add the artifact to the artifacts to deploy.
      *
      * @param file               - The file to publish
      * @param publication        - The publication to extract details from
@@ -112,12 +112,13 @@ public abstract class PublicationExtractor<ActualPublication extends Publication
      * @param artifactType       - The artifact type
      * @param artifactClassifier - The artifact classifier
      * @param extraInfo          - Extra information to add to the deploy details
+     * @param optional           - If true, the artifact is deployed only if its file exists
      */
-    private void buildAndPublishArtifact(File file, ActualPublication publication, String artifactId, String artifactExtension, String artifactType, String artifactClassifier, Map<QName, String> extraInfo) {
-        DeployDetails.Builder builder = createArtifactBuilder(file, publication.getName());
+    private void buildAndPublishArtifact(File file, ActualPublication publication, String artifactId, String artifactExtension, String artifactType, String artifactClassifier,
+                                         Map<QName, String> extraInfo, boolean optional) {
         PublishArtifactInfo artifactInfo = new PublishArtifactInfo(
                 artifactId, artifactExtension, artifactType, artifactClassifier, extraInfo, file);
-        addArtifactToDeployDetails(publication, builder, artifactInfo);
+        addPublicationArtifact(publication, artifactInfo, optional);
     }
 
     /**
@@ -12,9 +12,14 @@ import org.gradle.api.logging.Logging;
 import org.gradle.api.publish.PublishingExtension;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryPlugin;
 import org.jfrog.gradle.plugin.artifactory.Constant;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeploymentSettings;
 import org.jfrog.gradle.plugin.artifactory.dsl.ArtifactoryPluginConvention;
 import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
+import org.jfrog.gradle.plugin.artifactory.task.DeployTask;
+import org.jfrog.gradle.plugin.artifactory.trace.Span;
+import org.jfrog.gradle.plugin.artifactory.trace.Tracer;
 import org.jfrog.gradle.plugin.artifactory.utils.*;
 
 import java.util.Collections;
@@ -41,6 +46,13 @@ public class ProjectsEvaluatedBuildListener {
     private void evaluate(ArtifactoryTask collectDeployDetailsTask) {
         log.debug("Try to evaluate {}", collectDeployDetailsTask);
         Project project = collectDeployDetailsTask.getProject();
+        Tracer tracer = project.getRootProject().getPlugins().getPlugin(ArtifactoryPlugin.class).getBuildService().get().getTracer();
+        try (Span ignored = tracer.start("evaluate", project.getPath())) {
+            evaluate(collectDeployDetailsTask, project, tracer);
+        }
+    }
+
+    private void evaluate(ArtifactoryTask collectDeployDetailsTask, Project project, Tracer tracer) {
         ArtifactoryPluginConvention extension = ExtensionsUtils.getArtifactoryExtension(project);
         if (extension == null) {
             log.debug("Can't find artifactory extension.");
@@ -52,7 +64,9 @@ public class ProjectsEvaluatedBuildListener {
             return;
         }
         // Fill-in the client config with current user/system properties for the given project
-        ExtensionsUtils.updateConfig(clientConfiguration, project);
+        try (Span ignored = tracer.start("updateConfig", project.getPath())) {
+            ExtensionsUtils.updateConfig(clientConfiguration, project);
+        }
         // Set task attributes if running on CI Server
         if (collectDeployDetailsTask.isCiServerBuild()) {
             addCiAttributesToTask(collectDeployDetailsTask, clientConfiguration);
@@ -103,7 +117,7 @@ public class ProjectsEvaluatedBuildListener {
      *
      * @param project The Gradle project to which the Artifactory resolution repository is to be added.
      */
-    private void addResolverIfConfigured(Project project) {
+    public void addResolverIfConfigured(Project project) {
         ArtifactoryClientConfiguration.ResolverHandler resolver = PluginUtils.getResolverHandler(clientLog);
         if (resolver == null || StringUtils.isAnyBlank(resolver.getContextUrl(), resolver.getRepoKey())) {
             // If there's no configured Artifactory URL or repository, there's no need to include the resolution repository
@@ -120,7 +134,8 @@ public class ProjectsEvaluatedBuildListener {
 
     /**
      * This method is invoked after all projects are evaluated.
-     * Evaluate all the ArtifactoryTask tasks that are not yet evaluated (if configure-on-demand on the project is not requested).
+     * Evaluate all the ArtifactoryTask tasks that are not yet evaluated (if configure-on-demand on the project is not requested),
+     * index the publishers of the projects, now that they are configured, and capture the deployment configuration once for all the tasks.
      *
      * @param gradle The build which has been evaluated. Never null.
      */
@@ -134,5 +149,19 @@ public class ProjectsEvaluatedBuildListener {
                 collectDeployDetailsTask.finalizeByDeployTask(collectDeployDetailsTask.getProject());
             }
         });
+        Project rootProject = gradle.getRootProject();
+        rootProject.getPlugins().getPlugin(ArtifactoryPlugin.class).getPublisherIndex().build(rootProject);
+        setDeploymentSettings(rootProject);
+    }
+
+    /**
+     * Capture the deployment configuration of the root project and set it to all the tasks that deploy.
+     */
+    private void setDeploymentSettings(Project rootProject) {
+        DeploymentSettings deploymentSettings = DeployUtils.getDeploymentSettings(rootProject);
+        rootProject.getAllprojects().forEach(project -> {
+            project.getTasks().withType(ArtifactoryTask.class).configureEach(task -> task.getDeploymentSettings().set(deploymentSettings));
+            project.getTasks().withType(DeployTask.class).configureEach(task -> task.getDeploymentSettings().set(deploymentSettings));
+        });
     }
 }
@@ -4,6 +4,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.*;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.publish.Publication;
@@ -13,6 +15,10 @@ import org.gradle.api.publish.ivy.IvyPublication;
 import org.gradle.api.publish.ivy.tasks.GenerateIvyDescriptor;
 import org.gradle.api.publish.maven.MavenPublication;
 import org.gradle.api.publish.maven.tasks.GenerateMavenPom;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.publish.tasks.GenerateModuleMetadata;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.*;
@@ -22,34 +28,48 @@ import org.jfrog.build.api.multiMap.Multimap;
 import org.jfrog.build.api.multiMap.SetMultimap;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactSpecs;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryBuildService;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryPlugin;
 import org.jfrog.gradle.plugin.artifactory.Constant;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeploymentSettings;
+import org.jfrog.gradle.plugin.artifactory.deploy.TaskDeployDetails;
 import org.jfrog.gradle.plugin.artifactory.dsl.ArtifactoryPluginConvention;
 import org.jfrog.gradle.plugin.artifactory.dsl.PropertiesConfig;
 import org.jfrog.gradle.plugin.artifactory.dsl.PublisherConfig;
+import org.jfrog.gradle.plugin.artifactory.extractor.DeployDetailsFile;
 import org.jfrog.gradle.plugin.artifactory.extractor.GradleDeployDetails;
+import org.jfrog.gradle.plugin.artifactory.extractor.PublicationArtifact;
 import org.jfrog.gradle.plugin.artifactory.extractor.publication.IvyPublicationExtractor;
 import org.jfrog.gradle.plugin.artifactory.extractor.publication.MavenPublicationExtractor;
 import org.jfrog.gradle.plugin.artifactory.extractor.publication.PublicationExtractor;
+import org.jfrog.gradle.plugin.artifactory.trace.Span;
+import org.jfrog.gradle.plugin.artifactory.utils.DeployUtils;
 import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
 import org.jfrog.gradle.plugin.artifactory.utils.PublicationUtils;
 
 import javax.annotation.Nullable;
+import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Collect deploy details from publications in a project.
  * This task can also be used and configure by the user in the build script as a DSL object under 'artifactoryPublish'/'defaults' closure.
+ * The collected details are written to the task's output file, so the task is skipped or taken from the build cache if its
+ * publications did not change. The details are deployed either way.
  */
+@CacheableTask
 public class ArtifactoryTask extends DefaultTask {
     private static final Logger log = Logging.getLogger(ArtifactoryTask.class);
 
     @SuppressWarnings("unused")
     public static final String ARTIFACTORY_PUBLISH_TASK_NAME = Constant.ARTIFACTORY_PUBLISH_TASK_NAME;
 
-    // Publication containers input
-    private final Set<Object> publications = new HashSet<>();
+    // Publication containers input, used only while configuring the task
+    private final transient Set<Object> publications = new HashSet<>();
     // Properties input
     private final Multimap<String, CharSequence> properties = new SetMultimap<>();
     @Input
@@ -65,10 +85,11 @@ public class ArtifactoryTask extends DefaultTask {
     @Input
     public boolean skip = false;
 
-    // Internal attributes
-    public Set<IvyPublication> ivyPublications = new HashSet<>();
-    public Set<MavenPublication> mavenPublications = new HashSet<>();
-    private final Set<Configuration> archiveConfigurations = new HashSet<>();
+    // Internal attributes, used only while configuring the task.
+    // They are not stored in the configuration cache, the artifacts to deploy are captured from them instead.
+    public transient Set<IvyPublication> ivyPublications = new HashSet<>();
+    public transient Set<MavenPublication> mavenPublications = new HashSet<>();
+    private final transient Set<Configuration> archiveConfigurations = new HashSet<>();
     // This project has specified publications to the task
     private boolean publishPublicationsSpecified = false;
     @Internal
@@ -76,8 +97,37 @@ public class ArtifactoryTask extends DefaultTask {
     // This project task has been evaluated
     private boolean evaluated = false;
 
-    // Output - Container to hold all the details that were collected
-    private final Set<GradleDeployDetails> deployDetails = new TreeSet<>();
+    // The artifacts to deploy and the configurations to deploy them with, captured before the task executes
+    private final ListProperty<PublicationArtifact> publicationArtifacts = getProject().getObjects().listProperty(PublicationArtifact.class);
+    private final MapProperty<String, String> clientConfigProperties = getProject().getObjects().mapProperty(String.class, String.class);
+    // Set once for all the tasks after the projects are evaluated
+    private final Property<DeploymentSettings> deploymentSettings = getProject().getObjects().property(DeploymentSettings.class);
+    private final Provider<ArtifactoryBuildService> buildService = getProject().getRootProject().getPlugins().getPlugin(ArtifactoryPlugin.class).getBuildService();
+    private final String projectPath = getProject().getPath();
+    private final String projectName = getProject().getName();
+    private final FileCollection publicationArtifactFiles = getProject().files(publicationArtifacts.map(artifacts ->
+            artifacts.stream().map(PublicationArtifact::getFile).collect(Collectors.toList())));
+
+    // Output - The file to hold all the details that were collected
+    private final RegularFileProperty deployDetailsFile = getProject().getObjects().fileProperty();
+    // The details to deploy, read from the output file by the tasks that consume it
+    private final Provider<TaskDeployDetails> taskDeployDetails;
+
+    public ArtifactoryTask() {
+        deployDetailsFile.set(getProject().getLayout().getBuildDirectory().file(Constant.DEPLOY_DETAILS_FILE_NAME));
+        // Doesn't reference the task, so the tasks that consume it can be stored in the configuration cache
+        String taskPath = getPath();
+        String taskProjectPath = projectPath;
+        String taskProjectName = projectName;
+        MapProperty<String, String> taskClientConfigProperties = clientConfigProperties;
+        Property<DeploymentSettings> taskDeploymentSettings = deploymentSettings;
+        taskDeployDetails = deployDetailsFile.map(file -> new TaskDeployDetails(taskPath, taskProjectPath, taskProjectName, taskClientConfigProperties.getOrNull(),
+                taskDeploymentSettings.get().getBuildProperties(), file.getAsFile()));
+        publicationArtifacts.set(getProject().provider(this::capturePublicationArtifacts));
+        publicationArtifacts.finalizeValueOnRead();
+        clientConfigProperties.set(getProject().provider(this::captureClientConfigProperties));
+        clientConfigProperties.finalizeValueOnRead();
+    }
 
     /**
      * Make sure this task Depends on ArtifactoryTask from all its subprojects.
@@ -125,44 +175,73 @@ public class ArtifactoryTask extends DefaultTask {
     @TaskAction
     public void collectDeployDetails() {
         log.info("Collecting deployment details in task '{}'", getPath());
-        if (!hasPublications()) {
-            log.info("No publications to publish for project '{}'", getProject().getPath());
-            return;
+        List<PublicationArtifact> artifacts = publicationArtifacts.get();
+        if (artifacts.isEmpty()) {
+            log.info("No publications to publish for project '{}'", projectPath);
         }
-        try {
-            collectDetailsFromIvyPublications();
-            collectDetailsFromMavenPublications();
-            collectDetailsFromConfigurations();
+        ArtifactoryBuildService service = buildService.get();
+        File outputFile = deployDetailsFile.get().getAsFile();
+        try (Span ignored = service.getTracer().start("collectDeployDetails", projectPath)) {
+            // Don't leave the details of a previous build if the collection fails
+            Files.deleteIfExists(outputFile.toPath());
+            Map<PublicationArtifact, GradleDeployDetails> collected = new LinkedHashMap<>();
+            for (PublicationArtifact artifact : artifacts) {
+                GradleDeployDetails details = artifact.toDeployDetails(service.getArtifactsChecksumCache(), projectPath);
+                if (details != null) {
+                    collected.put(artifact, details);
+                }
+            }
+            DeployDetailsFile.write(outputFile, collected);
         } catch (Exception e) {
             throw new RuntimeException("Cannot collect deploy details for " + getPath(), e);
         }
+        DeploymentSettings settings = deploymentSettings.get();
+        if (settings.isPipelinedDeploy() && !artifacts.isEmpty()) {
+            // Start uploading the collected artifacts while the rest of the build runs
+            service.getArtifactsDeployment(() -> DeployUtils.createArtifactsDeployment(settings, service)).deploy(service.getTaskDeployDetails(taskDeployDetails.get()));
+        }
     }
 
-    private void collectDetailsFromIvyPublications() {
-        PublicationExtractor<IvyPublication> publicationExtractor = new IvyPublicationExtractor(this);
-        publicationExtractor.extractModuleInfo();
+    /**
+     * Capture the artifacts of the publications and configurations of this task, once the task graph is ready.
+     *
+     * @return the artifacts to deploy
+     */
+    private List<PublicationArtifact> capturePublicationArtifacts() {
+        List<PublicationArtifact> artifacts = new ArrayList<>();
+        if (!hasPublications()) {
+            return artifacts;
+        }
+        PublicationExtractor<IvyPublication> ivyPublicationExtractor = new IvyPublicationExtractor(this, artifacts);
+        ivyPublicationExtractor.extractModuleInfo();
         for (IvyPublication ivyPublication : ivyPublications) {
-            publicationExtractor.extractDeployDetails(ivyPublication);
+            ivyPublicationExtractor.extractArtifacts(ivyPublication);
         }
-    }
-
-    private void collectDetailsFromMavenPublications() {
-        PublicationExtractor<MavenPublication> publicationExtractor = new MavenPublicationExtractor(this);
-        publicationExtractor.extractModuleInfo();
+        PublicationExtractor<MavenPublication> mavenPublicationExtractor = new MavenPublicationExtractor(this, artifacts);
+        mavenPublicationExtractor.extractModuleInfo();
         for (MavenPublication mavenPublication : mavenPublications) {
-            publicationExtractor.extractDeployDetails(mavenPublication);
+            mavenPublicationExtractor.extractArtifacts(mavenPublication);
         }
-    }
-
-    private void collectDetailsFromConfigurations() {
         ArtifactoryClientConfiguration.PublisherHandler publisher = ExtensionsUtils.getPublisherHandler(getProject());
-        if (publisher == null) {
-            return;
+        if (publisher != null) {
+            for (Configuration configuration : archiveConfigurations) {
+                PublicationUtils.extractArchivesArtifacts(configuration, publisher, this, artifacts);
+            }
         }
+        return artifacts;
+    }
 
-        for (Configuration configuration : archiveConfigurations) {
-            PublicationUtils.extractArchivesDeployDetails(configuration, publisher, this);
+    /**
+     * Capture the client configuration of the project's publisher.
+     *
+     * @return the properties of the client configuration or null if the project has no publisher
+     */
+    private Map<String, String> captureClientConfigProperties() {
+        ArtifactoryPluginConvention extension = ExtensionsUtils.getExtensionWithPublisher(getProject());
+        if (extension == null) {
+            return null;
         }
+        return new HashMap<>(extension.getClientConfig().getAllProperties());
     }
 
     /**
@@ -377,10 +456,52 @@ public class ArtifactoryTask extends DefaultTask {
         artifactSpecs.addAll(propertiesConfig.getArtifactSpecs());
     }
 
-    @Input
-    @Optional
+    /**
+     * @return the deployment configuration of the root project, used to deploy while the build runs
+     */
+    @Internal
+    public Property<DeploymentSettings> getDeploymentSettings() {
+        return deploymentSettings;
+    }
+
+    /**
+     * @return the details that this task collects to its output file, for the tasks that extract and deploy them
+     */
+    @Internal
+    public Provider<TaskDeployDetails> getTaskDeployDetails() {
+        return taskDeployDetails;
+    }
+
+    @Internal
     public Set<GradleDeployDetails> getDeployDetails() {
-        return deployDetails;
+        return buildService.get().getTaskDeployDetails(taskDeployDetails.get()).getDeployDetails();
+    }
+
+    @OutputFile
+    public RegularFileProperty getDeployDetailsFile() {
+        return deployDetailsFile;
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileCollection getPublicationArtifactFiles() {
+        return publicationArtifactFiles;
+    }
+
+    /**
+     * @return the details that each publication artifact is deployed with
+     */
+    @Input
+    public List<String> getPublicationArtifactsDeployInputs() {
+        return publicationArtifacts.get().stream().map(PublicationArtifact::getDeployInput).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the artifacts of the publications to deploy, captured before the task executes
+     */
+    @Internal
+    public Provider<List<PublicationArtifact>> getPublicationArtifacts() {
+        return publicationArtifacts;
     }
 
     @Input
@@ -389,7 +510,7 @@ public class ArtifactoryTask extends DefaultTask {
         return moduleType;
     }
 
-    @Input
+    @Internal
     public Set<Publication> getPublications() {
         Set<Publication> publications = new HashSet<>();
         publications.addAll(ivyPublications);
@@ -440,12 +561,9 @@ public class ArtifactoryTask extends DefaultTask {
     public Map<String, String> getDefaultProps() {
         if (defaultProps == null) {
             defaultProps = new HashMap<>();
+            // The properties of the root publisher are specific to each build (e.g. the build number and timestamp),
+            // so they are not part of the collected details. They are added to the artifacts when deployed.
             PublicationUtils.addProps(defaultProps, getProperties());
-            // Add the publisher properties
-            ArtifactoryClientConfiguration.PublisherHandler publisher = ExtensionsUtils.getPublisherHandler(getProject().getRootProject());
-            if (publisher != null) {
-                defaultProps.putAll(publisher.getMatrixParams());
-            }
         }
         return defaultProps;
     }
@@ -497,6 +615,20 @@ public class ArtifactoryTask extends DefaultTask {
         setFlag(Constant.PUBLISH_IVY, toBoolean(publishIvy));
     }
 
+    /**
+     * @return a new copy of the client configuration of the project's publisher, or null if the project has no publisher
+     */
+    @Internal
+    public ArtifactoryClientConfiguration getClientConfig() {
+        Map<String, String> properties = clientConfigProperties.getOrNull();
+        return properties != null ? ExtensionsUtils.createClientConfig(properties) : null;
+    }
+
+    @Internal
+    public String getProjectName() {
+        return projectName;
+    }
+
     @Internal
     public boolean isEvaluated() {
         return evaluated;
@@ -514,4 +646,5 @@ public class ArtifactoryTask extends DefaultTask {
     private void setFlag(String flagName, Boolean newValue) {
         flags.put(flagName, newValue);
     }
+
 }
\ No newline at end of file
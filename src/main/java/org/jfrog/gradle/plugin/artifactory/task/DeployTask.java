@@ -2,124 +2,198 @@ package org.jfrog.gradle.plugin.artifactory.task;
 
 import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.DefaultTask;
-import org.gradle.api.Project;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskProvider;
 import org.jfrog.build.extractor.BuildInfoExtractorUtils;
 import org.jfrog.build.extractor.ci.BuildInfo;
 import org.jfrog.build.extractor.ci.BuildInfoConfigProperties;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
-import org.jfrog.gradle.plugin.artifactory.dsl.ArtifactoryPluginConvention;
+import org.jfrog.gradle.plugin.artifactory.deploy.ArtifactoryManagerRegistry;
+import org.jfrog.gradle.plugin.artifactory.deploy.ArtifactsDeployment;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeployMetrics;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeploymentSettings;
+import org.jfrog.gradle.plugin.artifactory.deploy.TaskDeployDetails;
 import org.jfrog.gradle.plugin.artifactory.extractor.GradleBuildInfoExtractor;
 import org.jfrog.gradle.plugin.artifactory.extractor.ModuleInfoFileProducer;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryBuildService;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryPlugin;
 import org.jfrog.gradle.plugin.artifactory.Constant;
-import org.jfrog.gradle.plugin.artifactory.utils.ExtensionsUtils;
 import org.jfrog.gradle.plugin.artifactory.utils.DeployUtils;
-import org.jfrog.gradle.plugin.artifactory.utils.TaskUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
-import java.util.concurrent.*;
-
-import static org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration.addDefaultPublisherAttributes;
 
 public class DeployTask extends DefaultTask {
     private static final Logger log = Logging.getLogger(DeployTask.class);
 
     private final List<ModuleInfoFileProducer> moduleInfoFileProducers = new ArrayList<>();
+    private final ConfigurableFileCollection moduleInfoFiles = getProject().files();
+    // The details that the Artifactory tasks in the task graph collected to deploy, and the files they wrote them to
+    private final ListProperty<TaskDeployDetails> collectedDeployDetails = getProject().getObjects().listProperty(TaskDeployDetails.class);
+    private final ConfigurableFileCollection deployDetailsFiles = getProject().files();
+    // The deployment configuration of the root project, set once for all the tasks after the projects are evaluated
+    private final Property<DeploymentSettings> deploymentSettings = getProject().getObjects().property(DeploymentSettings.class);
+    private final Provider<ArtifactoryBuildService> buildService = getProject().getRootProject().getPlugins().getPlugin(ArtifactoryPlugin.class).getBuildService();
 
     public void registerModuleInfoProducer(ModuleInfoFileProducer moduleInfoFileProducer) {
         this.moduleInfoFileProducers.add(moduleInfoFileProducer);
+        moduleInfoFiles.from(moduleInfoFileProducer.getModuleInfoFiles());
+        moduleInfoFiles.builtBy(moduleInfoFileProducer.getModuleInfoFiles().getBuildDependencies());
+    }
+
+    /**
+     * Deploy the details that a given Artifactory task collects, consumed from the task's output.
+     *
+     * @param collectDeployDetailsTask - the task that collects the details to deploy
+     */
+    public void registerCollectedDeployDetails(TaskProvider<ArtifactoryTask> collectDeployDetailsTask) {
+        collectedDeployDetails.add(collectDeployDetailsTask.flatMap(ArtifactoryTask::getTaskDeployDetails));
+        deployDetailsFiles.from(collectDeployDetailsTask.flatMap(ArtifactoryTask::getDeployDetailsFile));
     }
 
     @InputFiles
     public FileCollection getModuleInfoFiles() {
-        ConfigurableFileCollection moduleInfoFiles = getProject().files();
-        moduleInfoFileProducers.forEach(moduleInfoFileProducer -> {
-            moduleInfoFiles.from(moduleInfoFileProducer.getModuleInfoFiles());
-            moduleInfoFiles.builtBy(moduleInfoFileProducer.getModuleInfoFiles().getBuildDependencies());
-        });
         return moduleInfoFiles;
     }
 
+    @InputFiles
+    public FileCollection getDeployDetailsFiles() {
+        return deployDetailsFiles;
+    }
+
+    @Internal
+    public Property<DeploymentSettings> getDeploymentSettings() {
+        return deploymentSettings;
+    }
+
     @TaskAction
     public void extractBuildInfoAndDeploy() throws IOException {
         log.debug("Extracting build-info and deploying build details in task '{}'", getPath());
-        ArtifactoryClientConfiguration accRoot = ExtensionsUtils.getArtifactoryExtension(getProject()).getClientConfig();
-        Map<String, Set<DeployDetails>> allDeployedDetails = deployArtifactsFromTasks(accRoot);
-        // Deploy Artifacts to artifactory
-        // Generate build-info and handle deployment (and artifact exports if configured)
-        handleBuildInfoOperations(accRoot, allDeployedDetails);
-        deleteBuildInfoPropertiesFile();
+        DeploymentSettings settings = deploymentSettings.get();
+        ArtifactoryClientConfiguration accRoot = settings.getClientConfig();
+        ArtifactoryBuildService service = buildService.get();
+        // In pipelined mode, the deployment was already started by the Artifactory tasks that were executed
+        ArtifactsDeployment deployment = service.getArtifactsDeployment(() -> DeployUtils.createArtifactsDeployment(settings, service));
+        try {
+            // Deploy Artifacts to artifactory
+            Map<String, Set<DeployDetails>> allDeployedDetails;
+            try (DeployMetrics.Phase ignored = deployment.getMetrics().startPhase("deployArtifacts")) {
+                collectedDeployDetails.get().stream().map(service::getTaskDeployDetails).forEach(deployment::deploy);
+                allDeployedDetails = deployment.awaitCompletion();
+            }
+            // Generate build-info and handle deployment (and artifact exports if configured)
+            if (isStreamBuildInfo(settings, accRoot)) {
+                handleStreamedBuildInfoOperations(accRoot, settings, allDeployedDetails, deployment.getManagers(), deployment.getMetrics());
+            } else {
+                handleBuildInfoOperations(accRoot, settings, allDeployedDetails, deployment.getManagers(), deployment.getMetrics());
+            }
+            deployment.complete();
+        } finally {
+            deployment.close();
+            writeDeployMetrics(accRoot, settings, deployment.getMetrics());
+        }
+        deleteBuildInfoPropertiesFile(settings);
     }
 
     /**
-     * Deploy to artifactory all the applicable artifacts collected in all the Artifactory tasks.
-     *
-     * @param accRoot - client configuration that defined at the root project
-     * @return Map of module to deployed artifact details.
+     * Write the deployment metrics next to the exported build-info and log their summary.
      */
-    private Map<String, Set<DeployDetails>> deployArtifactsFromTasks(ArtifactoryClientConfiguration accRoot) {
-        // Reset the default properties, they may have changed
-        Map<String, String> propsRoot = accRoot.publisher.getProps();
-        addDefaultPublisherAttributes(accRoot, getProject().getRootProject().getName(), Constant.GRADLE, getProject().getGradle().getGradleVersion());
-
-        Map<String, Set<DeployDetails>> allDeployDetails = new ConcurrentHashMap<>();
-        List<ArtifactoryTask> orderedTasks = TaskUtils.getAllArtifactoryPublishTasks(getProject());
-
-        // Deploy
-        int publishForkCount = accRoot.publisher.getPublishForkCount();
-        if (publishForkCount <= 1) {
-            orderedTasks.forEach(t -> {
-                ArtifactoryPluginConvention convention = ExtensionsUtils.getExtensionWithPublisher(t.getProject());
-                if (convention != null) {
-                    DeployUtils.deployTaskArtifacts(convention.getClientConfig(), propsRoot, allDeployDetails, t, null);
-                }
-            });
-        } else {
-            try {
-                ExecutorService executor = Executors.newFixedThreadPool(publishForkCount);
-                CompletableFuture<Void> allUploads = CompletableFuture.allOf(orderedTasks.stream()
-                        .map(t -> CompletableFuture.runAsync(() -> {
-                            ArtifactoryPluginConvention convention = ExtensionsUtils.getExtensionWithPublisher(t.getProject());
-                            if (convention != null) {
-                                DeployUtils.deployTaskArtifacts(convention.getClientConfig(), propsRoot, allDeployDetails, t, "[" + Thread.currentThread().getName() + "]");
-                            }
-                        }, executor))
-                        .toArray(CompletableFuture[]::new));
-                allUploads.get();
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-            }
+    private void writeDeployMetrics(ArtifactoryClientConfiguration accRoot, DeploymentSettings settings, DeployMetrics metrics) {
+        File metricsFile = new File(getExportFile(accRoot, settings).getAbsoluteFile().getParentFile(), Constant.DEPLOY_METRICS_FILE_NAME);
+        try {
+            metrics.writeReport(metricsFile);
+            log.lifecycle("{} Metrics: {}", metrics.getSummary(), metricsFile.getAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Failed writing deployment metrics to '{}': {}", metricsFile, e.getMessage());
         }
-        return allDeployDetails;
     }
 
     /**
      * Extract build-info, export it to the file-system and Deploy it to Artifactory.
      * (optional: export an additional file with the deployed artifacts)
      */
-    private void handleBuildInfoOperations(ArtifactoryClientConfiguration accRoot, Map<String, Set<DeployDetails>> allDeployedDetails) throws IOException {
+    private void handleBuildInfoOperations(ArtifactoryClientConfiguration accRoot, DeploymentSettings settings, Map<String, Set<DeployDetails>> allDeployedDetails,
+                                           ArtifactoryManagerRegistry managers, DeployMetrics metrics) throws IOException {
         // Extract build-info
-        GradleBuildInfoExtractor gbie = new GradleBuildInfoExtractor(accRoot, moduleInfoFileProducers);
-        BuildInfo buildInfo = gbie.extract(getProject().getRootProject());
+        BuildInfo buildInfo;
+        try (DeployMetrics.Phase ignored = metrics.startPhase("extractBuildInfo")) {
+            GradleBuildInfoExtractor gbie = new GradleBuildInfoExtractor(accRoot, moduleInfoFileProducers);
+            buildInfo = gbie.extract();
+        }
         // Export in Json format to file system
-        exportBuildInfoToFileSystem(accRoot, buildInfo);
+        try (DeployMetrics.Phase ignored = metrics.startPhase("exportBuildInfo")) {
+            exportBuildInfoToFileSystem(accRoot, settings, buildInfo);
+        }
         // Deploy build-info file and export deployed artifacts
-        DeployUtils.deployBuildInfo(accRoot, buildInfo, allDeployedDetails);
+        try (DeployMetrics.Phase ignored = metrics.startPhase("deployBuildInfo")) {
+            DeployUtils.deployBuildInfo(accRoot, buildInfo, allDeployedDetails, managers);
+        }
+    }
+
+    /**
+     * Check whether to write and deploy the build-info without holding it in memory.
+     * The build retention is sent along with the build-info object, so it requires to hold the build-info.
+     */
+    private boolean isStreamBuildInfo(DeploymentSettings settings, ArtifactoryClientConfiguration accRoot) {
+        if (!settings.isStreamBuildInfo()) {
+            return false;
+        }
+        ArtifactoryClientConfiguration.BuildInfoHandler info = accRoot.info;
+        Integer retentionCount = info.getBuildRetentionCount();
+        if ((retentionCount != null && retentionCount > -1) || info.getBuildRetentionDays() != null || StringUtils.isNotBlank(info.getBuildRetentionMinimumDate())) {
+            log.info("Build retention is configured, the build-info will not be streamed");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Extract build-info straight to the file-system and deploy the same file to Artifactory.
+     * (optional: export an additional file with the deployed artifacts)
+     */
+    private void handleStreamedBuildInfoOperations(ArtifactoryClientConfiguration accRoot, DeploymentSettings settings, Map<String, Set<DeployDetails>> allDeployedDetails,
+                                                   ArtifactoryManagerRegistry managers, DeployMetrics metrics) throws IOException {
+        File exportFile = getExportFile(accRoot, settings);
+        // Extracted and exported at once
+        try (DeployMetrics.Phase ignored = metrics.startPhase("extractBuildInfo")) {
+            log.debug("Exporting generated build info to '{}'", exportFile.getAbsolutePath());
+            new GradleBuildInfoExtractor(accRoot, moduleInfoFileProducers).extractToFile(exportFile);
+            // We offer option to create a copy in additional place if requested
+            if (!StringUtils.isEmpty(accRoot.info.getGeneratedBuildInfoFilePath())) {
+                Path copy = Paths.get(accRoot.info.getGeneratedBuildInfoFilePath());
+                log.debug("Exporting generated build info to '{}'", copy.toAbsolutePath());
+                if (copy.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(copy.toAbsolutePath().getParent());
+                }
+                Files.copy(exportFile.toPath(), copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            log.error("Failed writing build info to file: ", e);
+            throw new IOException("Failed writing build info to file", e);
+        }
+        // Deploy build-info file and export deployed artifacts
+        try (DeployMetrics.Phase ignored = metrics.startPhase("deployBuildInfo")) {
+            DeployUtils.deployBuildInfo(accRoot, exportFile, allDeployedDetails, managers);
+        }
     }
 
-    private void exportBuildInfoToFileSystem(ArtifactoryClientConfiguration accRoot, BuildInfo buildInfo) throws IOException {
+    private void exportBuildInfoToFileSystem(ArtifactoryClientConfiguration accRoot, DeploymentSettings settings, BuildInfo buildInfo) throws IOException {
         try {
-            exportBuildInfo(buildInfo, getExportFile(accRoot));
+            exportBuildInfo(buildInfo, getExportFile(accRoot, settings));
             // We offer option to create a copy in additional place if requested
             if (!StringUtils.isEmpty(accRoot.info.getGeneratedBuildInfoFilePath())) {
                 exportBuildInfo(buildInfo, new File(accRoot.info.getGeneratedBuildInfoFilePath()));
@@ -130,15 +204,14 @@ public class DeployTask extends DefaultTask {
         }
     }
 
-    private File getExportFile(ArtifactoryClientConfiguration clientConf) {
+    private File getExportFile(ArtifactoryClientConfiguration clientConf, DeploymentSettings settings) {
         // Configured path
         String fileExportPath = clientConf.getExportFile();
         if (StringUtils.isNotBlank(fileExportPath)) {
             return new File(fileExportPath);
         }
         // Default path
-        Project rootProject = getProject().getRootProject();
-        return rootProject.getLayout().getBuildDirectory().file(Constant.BUILD_INFO_FILE_NAME).get().getAsFile();
+        return new File(settings.getRootBuildDirectory(), Constant.BUILD_INFO_FILE_NAME);
     }
 
     private void exportBuildInfo(BuildInfo buildInfo, File toFile) throws IOException {
@@ -146,7 +219,7 @@ public class DeployTask extends DefaultTask {
         BuildInfoExtractorUtils.saveBuildInfoToFile(buildInfo, toFile);
     }
 
-    private void deleteBuildInfoPropertiesFile() {
+    private void deleteBuildInfoPropertiesFile(DeploymentSettings settings) {
         String propertyFilePath = System.getenv(BuildInfoConfigProperties.PROP_PROPS_FILE);
         if (StringUtils.isBlank(propertyFilePath)) {
             propertyFilePath = System.getenv(BuildInfoConfigProperties.ENV_BUILDINFO_PROPFILE);
@@ -157,7 +230,7 @@ public class DeployTask extends DefaultTask {
         }
 
         try {
-            Path buildDir = getProject().getRootProject().getLayout().getBuildDirectory().get().getAsFile().toPath().toAbsolutePath().normalize();
+            Path buildDir = settings.getRootBuildDirectory().toPath().toAbsolutePath().normalize();
             Path filePath = Paths.get(propertyFilePath).toAbsolutePath().normalize();
 
             // Ensure file is in build dir and named build-info.json
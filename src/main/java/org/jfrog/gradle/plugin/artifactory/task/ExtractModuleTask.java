@@ -1,38 +1,187 @@
 package org.jfrog.gradle.plugin.artifactory.task;
 
 import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
-import org.gradle.api.tasks.OutputFile;
-import org.gradle.api.tasks.TaskAction;
-import org.jfrog.build.extractor.ModuleExtractorUtils;
-import org.jfrog.build.extractor.ci.Module;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.*;
+import org.gradle.workers.WorkerExecutor;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryBuildService;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryPlugin;
+import org.jfrog.gradle.plugin.artifactory.deploy.TaskDeployDetails;
 import org.jfrog.gradle.plugin.artifactory.extractor.GradleModuleExtractor;
+import org.jfrog.gradle.plugin.artifactory.extractor.ModuleSnapshot;
+import org.jfrog.gradle.plugin.artifactory.listener.ArtifactoryDependencyResolutionListener;
+import org.jfrog.gradle.plugin.artifactory.trace.Span;
 
-import java.io.IOException;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
-public class ExtractModuleTask extends DefaultTask {
+/**
+ * Extracts the module info file of a project from the declared inputs of the module: the deploy details that the
+ * project's Artifactory task collected, its resolved dependencies, its module type and the publisher filter settings.
+ * The module is extracted again only if one of them changed, and can be taken from the Gradle build cache.
+ */
+@CacheableTask
+public abstract class ExtractModuleTask extends DefaultTask {
 
     private static final Logger log = Logging.getLogger(ExtractModuleTask.class);
     private final RegularFileProperty moduleFile = getProject().getObjects().fileProperty();
+    // The details of the module, captured before the task executes
+    private final Property<String> moduleId = getProject().getObjects().property(String.class);
+    private final Property<String> moduleType = getProject().getObjects().property(String.class);
+    // The deploy details that the Artifactory task of the project collected, and the file it wrote them to
+    private final Property<TaskDeployDetails> taskDeployDetails = getProject().getObjects().property(TaskDeployDetails.class);
+    private final ConfigurableFileCollection deployDetailsFile = getProject().files();
+    private final Property<String> includePatterns = getProject().getObjects().property(String.class);
+    private final Property<String> excludePatterns = getProject().getObjects().property(String.class);
+    private final Property<Boolean> filterExcludedArtifactsFromBuild = getProject().getObjects().property(Boolean.class);
+    // The resolved artifacts of each reported configuration, by configuration name
+    private final MapProperty<String, ArtifactCollection> resolvedDependencies = getProject().getObjects().mapProperty(String.class, ArtifactCollection.class);
+    // The module versions that the project components resolved to, by component display name, to identify project dependencies
+    private final MapProperty<String, String> projectModuleIds = getProject().getObjects().mapProperty(String.class, String.class);
+    private final FileCollection dependencyFiles = getProject().files(resolvedDependencies.map(dependencies ->
+            dependencies.values().stream().map(ArtifactCollection::getArtifactFiles).collect(Collectors.toList())));
+    private final Provider<ArtifactoryBuildService> buildService = getProject().getRootProject().getPlugins().getPlugin(ArtifactoryPlugin.class).getBuildService();
+    // Populated only by the resolutions of the current build, not kept in the configuration cache
+    private final transient ArtifactoryDependencyResolutionListener resolutionListener = getProject().getRootProject().getPlugins().getPlugin(ArtifactoryPlugin.class).getResolutionListener();
+    private final String projectPath = getProject().getPath();
 
     @OutputFile
     public RegularFileProperty getModuleFile() {
         return moduleFile;
     }
 
+    @Input
+    public Property<String> getModuleId() {
+        return moduleId;
+    }
+
+    @Input
+    @Optional
+    public Property<String> getModuleType() {
+        return moduleType;
+    }
+
+    @Internal
+    public Property<TaskDeployDetails> getTaskDeployDetails() {
+        return taskDeployDetails;
+    }
+
+    /**
+     * @return the details that the project's Artifactory task collected, shared with the deployment, or null if the project has no Artifactory task
+     */
+    @Internal
+    public TaskDeployDetails getCollectedDeployDetails() {
+        TaskDeployDetails details = taskDeployDetails.getOrNull();
+        return details != null ? buildService.get().getTaskDeployDetails(details) : null;
+    }
+
+    /**
+     * The output file of the project's Artifactory task, so the task runs first and the module is extracted again if the details changed.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public ConfigurableFileCollection getDeployDetailsFile() {
+        return deployDetailsFile;
+    }
+
+    @Input
+    @Optional
+    public Property<String> getIncludePatterns() {
+        return includePatterns;
+    }
+
+    @Input
+    @Optional
+    public Property<String> getExcludePatterns() {
+        return excludePatterns;
+    }
+
+    /**
+     * @return the publisher's filter mode, absent if the project has no publisher configured
+     */
+    @Input
+    @Optional
+    public Property<Boolean> getFilterExcludedArtifactsFromBuild() {
+        return filterExcludedArtifactsFromBuild;
+    }
+
+    @Internal
+    public MapProperty<String, ArtifactCollection> getResolvedDependencies() {
+        return resolvedDependencies;
+    }
+
+    @Internal
+    public MapProperty<String, String> getProjectModuleIds() {
+        return projectModuleIds;
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public FileCollection getDependencyFiles() {
+        return dependencyFiles;
+    }
+
+    /**
+     * @return the ID of each resolved dependency artifact, prefixed with the configuration that resolved it
+     */
+    @Input
+    public List<String> getDependencyIds() {
+        List<String> dependencyIds = new ArrayList<>();
+        Map<String, String> projectIds = projectModuleIds.get();
+        for (Map.Entry<String, ArtifactCollection> configuration : resolvedDependencies.get().entrySet()) {
+            for (ResolvedArtifactResult artifact : configuration.getValue()) {
+                dependencyIds.add(configuration.getKey() + ":" + GradleModuleExtractor.extractDependencyId(artifact, projectIds));
+            }
+        }
+        return dependencyIds;
+    }
+
+    /**
+     * @return the dependency hierarchy of the module's dependencies, by dependency ID, or null if it's not known in this build
+     */
+    @Internal
+    public Map<String, String[][]> getRequestedBy() {
+        if (resolutionListener == null) {
+            return null;
+        }
+        return resolutionListener.getModulesHierarchyMap().get(moduleId.get());
+    }
+
+    @Internal
+    public String getProjectPath() {
+        return projectPath;
+    }
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
     @TaskAction
     public void extractModule() {
         log.info("Extracting details for {}", getPath());
-        // Extract
-        Module module = new GradleModuleExtractor().extractModule(getProject());
-        try {
-            // Export
-            ModuleExtractorUtils.saveModuleToFile(module, moduleFile.getAsFile().get());
-        } catch (IOException e) {
-            throw new RuntimeException("Could not save module file", e);
+        // Extract the details from the declared inputs
+        ModuleSnapshot moduleSnapshot;
+        try (Span ignored = buildService.get().getTracer().start("extractModule", projectPath)) {
+            moduleSnapshot = new GradleModuleExtractor().extractModuleSnapshot(this);
         }
+        // Hash the dependencies and export in a worker, so the modules of different projects are completed in parallel
+        getWorkerExecutor().noIsolation().submit(ExtractModuleWorkAction.class, parameters -> {
+            parameters.getModuleSnapshot().set(moduleSnapshot);
+            parameters.getModuleFile().set(moduleFile);
+            parameters.getBuildService().set(buildService);
+            parameters.getProjectPath().set(projectPath);
+        });
     }
 
 }
@@ -0,0 +1,43 @@
+package org.jfrog.gradle.plugin.artifactory.task;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.jfrog.build.extractor.ModuleExtractorUtils;
+import org.jfrog.build.extractor.ci.Module;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryBuildService;
+import org.jfrog.gradle.plugin.artifactory.extractor.ModuleSnapshot;
+import org.jfrog.gradle.plugin.artifactory.trace.Span;
+
+import java.io.IOException;
+
+/**
+ * Completes the module details that an {@link ExtractModuleTask} extracted (hashes its dependencies) and saves them
+ * to the module info file, in a Gradle worker.
+ */
+public abstract class ExtractModuleWorkAction implements WorkAction<ExtractModuleWorkAction.Parameters> {
+
+    public interface Parameters extends WorkParameters {
+        Property<ModuleSnapshot> getModuleSnapshot();
+
+        RegularFileProperty getModuleFile();
+
+        Property<ArtifactoryBuildService> getBuildService();
+
+        Property<String> getProjectPath();
+    }
+
+    @Override
+    public void execute() {
+        Parameters parameters = getParameters();
+        ArtifactoryBuildService buildService = parameters.getBuildService().get();
+        try (Span ignored = buildService.getTracer().start("completeModule", parameters.getProjectPath().get())) {
+            Module module = parameters.getModuleSnapshot().get().toModule(buildService.getDependenciesChecksumCache());
+            // Export
+            ModuleExtractorUtils.saveModuleToFile(module, parameters.getModuleFile().getAsFile().get());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not save module file", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.jfrog.gradle.plugin.artifactory.trace;
+
+/**
+ * A timed phase of the plugin, recorded by a {@link Tracer} when closed.
+ * Spans that are opened while another span of the same thread is open are nested in it.
+ */
+public class Span implements AutoCloseable {
+    // Returned when tracing is disabled, closing it does nothing
+    static final Span NOOP = new Span(null, null, null);
+
+    private final Tracer tracer;
+    private final String name;
+    private final String projectPath;
+    private final long startNanos = System.nanoTime();
+    private final Thread thread = Thread.currentThread();
+
+    Span(Tracer tracer, String name, String projectPath) {
+        this.tracer = tracer;
+        this.name = name;
+        this.projectPath = projectPath;
+    }
+
+    @Override
+    public void close() {
+        if (tracer != null) {
+            tracer.record(this, System.nanoTime());
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getProjectPath() {
+        return projectPath;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    Thread getThread() {
+        return thread;
+    }
+}
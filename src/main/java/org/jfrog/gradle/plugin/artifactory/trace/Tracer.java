@@ -0,0 +1,108 @@
+package org.jfrog.gradle.plugin.artifactory.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the spans of the plugin's phases and exports them in the Chrome trace event format, which can be loaded in
+ * Perfetto or chrome://tracing. When disabled, the spans are not recorded and cost only a check of a field.
+ */
+public class Tracer {
+    private static final String CATEGORY = "artifactory";
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param enabled - true to record the spans
+     */
+    public Tracer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start a span, to close when the phase ends.
+     *
+     * @param name        - the phase name
+     * @param projectPath - the path of the project that the phase belongs to
+     * @return the started span
+     */
+    public Span start(String name, String projectPath) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        return new Span(this, name, projectPath);
+    }
+
+    void record(Span span, long endNanos) {
+        events.add(new Event(span.getName(), span.getProjectPath(), span.getThread().getId(), span.getThread().getName(),
+                span.getStartNanos() - startNanos, endNanos - span.getStartNanos()));
+    }
+
+    /**
+     * Write the recorded spans as Chrome trace event JSON.
+     *
+     * @param file - the trace file
+     */
+    public void writeTo(File file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode trace = mapper.createObjectNode();
+        ArrayNode traceEvents = trace.putArray("traceEvents");
+        Map<Long, String> threadNames = new LinkedHashMap<>();
+        for (Event event : events) {
+            threadNames.putIfAbsent(event.threadId, event.threadName);
+            ObjectNode node = traceEvents.addObject();
+            node.put("name", event.name);
+            node.put("cat", CATEGORY);
+            node.put("ph", "X");
+            node.put("ts", TimeUnit.NANOSECONDS.toMicros(event.startNanos));
+            node.put("dur", TimeUnit.NANOSECONDS.toMicros(event.durationNanos));
+            node.put("pid", 1);
+            node.put("tid", event.threadId);
+            node.putObject("args").put("project", event.projectPath);
+        }
+        threadNames.forEach((threadId, threadName) -> {
+            ObjectNode node = traceEvents.addObject();
+            node.put("name", "thread_name");
+            node.put("ph", "M");
+            node.put("pid", 1);
+            node.put("tid", threadId);
+            node.putObject("args").put("name", threadName);
+        });
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file, trace);
+    }
+
+    private static class Event {
+        private final String name;
+        private final String projectPath;
+        private final long threadId;
+        private final String threadName;
+        private final long startNanos;
+        private final long durationNanos;
+
+        private Event(String name, String projectPath, long threadId, String threadName, long startNanos, long durationNanos) {
+            this.name = name;
+            this.projectPath = projectPath;
+            this.threadId = threadId;
+            this.threadName = threadName;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.jfrog.gradle.plugin.artifactory.utils;
 
 import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.Project;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.jfrog.build.client.ArtifactoryUploadResponse;
@@ -8,67 +9,138 @@ import org.jfrog.build.extractor.Proxy;
 import org.jfrog.build.extractor.ProxySelector;
 import org.jfrog.build.extractor.ci.BuildInfo;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
-import org.jfrog.build.extractor.clientConfiguration.IncludeExcludePatterns;
-import org.jfrog.build.extractor.clientConfiguration.PatternMatcher;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployableArtifactsUtils;
 import org.jfrog.build.extractor.retention.Utils;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryBuildService;
+import org.jfrog.gradle.plugin.artifactory.Constant;
+import org.jfrog.gradle.plugin.artifactory.deploy.ArtifactUploadScheduler;
+import org.jfrog.gradle.plugin.artifactory.deploy.ArtifactoryManagerRegistry;
+import org.jfrog.gradle.plugin.artifactory.deploy.ArtifactsDeployment;
+import org.jfrog.gradle.plugin.artifactory.deploy.ChecksumDeployPreflight;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeployJournal;
+import org.jfrog.gradle.plugin.artifactory.deploy.GradleArtifactoryManager;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeployManifest;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeploymentSettings;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeployMetrics;
+import org.jfrog.gradle.plugin.artifactory.deploy.DeployRecord;
+import org.jfrog.gradle.plugin.artifactory.deploy.TaskDeployDetails;
+import org.jfrog.gradle.plugin.artifactory.dsl.ArtifactoryPluginConvention;
+import org.jfrog.gradle.plugin.artifactory.dsl.PublisherConfig;
+import org.jfrog.gradle.plugin.artifactory.deploy.ArtifactoryManagerRegistry.PooledArtifactoryManager;
 import org.jfrog.gradle.plugin.artifactory.extractor.GradleDeployDetails;
-import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration.addDefaultPublisherAttributes;
 
 public class DeployUtils {
 
     private static final Logger log = Logging.getLogger(DeployUtils.class);
 
     /**
-     * Deploy all the artifacts from a given ArtifactoryTask base on a given arguments.
+     * Capture the deployment configuration of the root project, so it can be used without the project.
+     * The root client configuration is copied, it is not modified.
+     *
+     * @param project - a project of the build
+     * @return the deployment settings
+     */
+    public static DeploymentSettings getDeploymentSettings(Project project) {
+        Project rootProject = project.getRootProject();
+        ArtifactoryPluginConvention rootExtension = ExtensionsUtils.getArtifactoryExtension(rootProject);
+        ArtifactoryClientConfiguration accRoot = ExtensionsUtils.createClientConfig(rootExtension.getClientConfig().getAllProperties());
+        // Reset the default properties, they may have changed
+        addDefaultPublisherAttributes(accRoot, rootProject.getName(), Constant.GRADLE, rootProject.getGradle().getGradleVersion());
+        // Added to the artifacts of all the projects, if the root project configures a publisher
+        Map<String, String> buildProperties = ExtensionsUtils.isPublisherConfigured(rootExtension) ? accRoot.publisher.getMatrixParams() : Collections.emptyMap();
+        return new DeploymentSettings(accRoot, buildProperties, rootExtension.getPublisherConfig(), getMaxConnectionsPerRoute(rootExtension), isResumeDeployment(rootProject),
+                rootProject.getPath(), rootProject.getLayout().getBuildDirectory().get().getAsFile());
+    }
+
+    /**
+     * Create a deployment of the artifacts collected by the Artifactory tasks.
+     *
+     * @param settings     - the deployment configuration of the root project
+     * @param buildService - the build's shared service
+     * @return a deployment to deploy the tasks with
+     */
+    public static ArtifactsDeployment createArtifactsDeployment(DeploymentSettings settings, ArtifactoryBuildService buildService) {
+        ArtifactoryClientConfiguration accRoot = settings.getClientConfig();
+        Map<String, String> propsRoot = accRoot.publisher.getProps();
+
+        DeployMetrics metrics = new DeployMetrics(buildService.getTracer(), settings.getRootProjectPath());
+        metrics.setChecksumCache(buildService.getArtifactsChecksumCache());
+        // The Artifactory managers (and their connections) are shared by all the deployments of the build
+        ArtifactoryManagerRegistry managers = new ArtifactoryManagerRegistry(settings.getMaxConnectionsPerRoute());
+        // The artifacts of all the tasks are uploaded by a shared pool of publishForkCount threads
+        ArtifactUploadScheduler scheduler = new ArtifactUploadScheduler(accRoot.publisher.getPublishForkCount(), settings.isAdaptiveForkCount());
+        DeployManifest deployManifest = null;
+        if (settings.isIncrementalDeploy()) {
+            deployManifest = DeployManifest.load(settings.getManifestFile().toPath(), settings.getBuildProperties().keySet());
+        }
+        DeployJournal deployJournal = DeployJournal.open(settings.getJournalFile().toPath(), settings.isResume());
+        return new ArtifactsDeployment(propsRoot, managers, scheduler, deployManifest, deployJournal, metrics);
+    }
+
+    /**
+     * Get the maximum number of concurrent connections to each Artifactory instance.
+     * If not configured, allows a connection for each of the deploying threads.
+     */
+    private static int getMaxConnectionsPerRoute(ArtifactoryPluginConvention rootExtension) {
+        PublisherConfig publisherConfig = rootExtension.getPublisherConfig();
+        if (publisherConfig != null && publisherConfig.getMaxConnectionsPerRoute() != null) {
+            return publisherConfig.getMaxConnectionsPerRoute();
+        }
+        return rootExtension.getClientConfig().publisher.getPublishForkCount();
+    }
+
+    /**
+     * Check whether the deployment should skip the artifacts deployed by a previous deployment that did not complete.
+     */
+    private static boolean isResumeDeployment(Project rootProject) {
+        Object resume = rootProject.findProperty(Constant.DEPLOY_RESUME_PROPERTY);
+        return resume != null && Boolean.parseBoolean(resume.toString());
+    }
+
+    /**
+     * Deploy all the artifacts collected by a given ArtifactoryTask base on a given arguments.
      * Populate a given set with the details that were deployed
      *
-     * @param accRoot          - client configurations to apply in deployment
+     * @param accRoot          - client configurations of the task's publisher to apply in deployment
      * @param propsRoot        - root properties to merge with the task properties
      * @param allDeployDetails - a container that will be populated with the details of the deployed artifacts
-     * @param artifactoryTask  - the task to deploy its details.
-     * @param logPrefix        - the in case the deployment is in multi-threads a prefix to each log
+     * @param taskDetails      - the details that the task collected to deploy.
+     * @param scheduler        - the scheduler to upload the task's artifacts with
+     * @param managers         - the build's shared Artifactory managers
+     * @param deployJournal    - the artifacts to skip since they were already deployed, updated with the newly deployed artifacts
+     * @param deployManifest   - the artifacts deployed by previous builds to deploy by checksum, updated with the newly deployed artifacts. May be null.
+     * @param metrics          - the deployment metrics to record the uploads in
      */
     public static void deployTaskArtifacts(ArtifactoryClientConfiguration accRoot, Map<String, String> propsRoot, Map<String,
-            Set<DeployDetails>> allDeployDetails, ArtifactoryTask artifactoryTask, String logPrefix) {
-        try {
-            if (!artifactoryTask.getDidWork()) {
-                log.debug("Task '{}' did no work", artifactoryTask.getPath());
-                return;
-            }
-            if (artifactoryTask.getDeployDetails().isEmpty()) {
-                log.debug("Task '{}' has nothing to deploy", artifactoryTask.getPath());
-                return;
-            }
-            ArtifactoryClientConfiguration.PublisherHandler taskPublisher = ExtensionsUtils.getPublisherHandler(artifactoryTask.getProject());
-            if (taskPublisher == null) {
-                log.debug("Task '{}' does not have publisher configured", artifactoryTask.getPath());
-                return;
-            }
-            if (StringUtils.isBlank(taskPublisher.getContextUrl())) {
-                log.debug("Task '{}' does not have publisher configured with contextUrl attribute", artifactoryTask.getPath());
-                return;
-            }
-            mergeRootAndModuleProps(taskPublisher, propsRoot);
-            // Add the task deployed details to the container of all deployed details
-            allDeployDetails.put(artifactoryTask.getProject().getName(), getTaskDeployDetails(artifactoryTask));
-            if (!taskPublisher.isPublishArtifacts()) {
-                log.debug("Task '{}' configured not to deploy artifacts", artifactoryTask.getPath());
-                return;
-            }
-            configureArtifactoryManagerAndDeploy(accRoot, taskPublisher, artifactoryTask.getDeployDetails(), logPrefix);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            Set<DeployDetails>> allDeployDetails, TaskDeployDetails taskDetails, ArtifactUploadScheduler scheduler, ArtifactoryManagerRegistry managers,
+                                           DeployRecord deployJournal, DeployRecord deployManifest, DeployMetrics metrics) {
+        if (taskDetails.getDeployDetails().isEmpty()) {
+            log.debug("Task '{}' has nothing to deploy", taskDetails.getTaskPath());
+            return;
+        }
+        ArtifactoryClientConfiguration.PublisherHandler taskPublisher = accRoot.publisher;
+        if (StringUtils.isBlank(taskPublisher.getContextUrl())) {
+            log.debug("Task '{}' does not have publisher configured with contextUrl attribute", taskDetails.getTaskPath());
+            return;
+        }
+        mergeRootAndModuleProps(taskPublisher, propsRoot);
+        // Add the task deployed details to the container of all deployed details
+        allDeployDetails.put(taskDetails.getProjectName(), getTaskDeployDetails(taskDetails));
+        if (!taskPublisher.isPublishArtifacts()) {
+            log.debug("Task '{}' configured not to deploy artifacts", taskDetails.getTaskPath());
+            return;
         }
+        deployArtifacts(getArtifactoryManager(managers, accRoot, taskPublisher), taskPublisher, taskDetails.getDeployDetails(), scheduler, deployJournal,
+                deployManifest, taskDetails.getTaskPath(), metrics);
     }
 
     private static void mergeRootAndModuleProps(ArtifactoryClientConfiguration.PublisherHandler modulePublisher, Map<String, String> propsRoot) {
@@ -77,20 +149,51 @@ public class DeployUtils {
         modulePublisher.getProps().putAll(moduleProps);
     }
 
-    private static void configureArtifactoryManagerAndDeploy(ArtifactoryClientConfiguration accRoot, ArtifactoryClientConfiguration.PublisherHandler publisher, Set<GradleDeployDetails> artifactsDeployDetails, String logPrefix) throws IOException {
-        try (ArtifactoryManager artifactoryManager = createArtifactoryManager(publisher)) {
+    private static void deployArtifacts(PooledArtifactoryManager artifactoryManager, ArtifactoryClientConfiguration.PublisherHandler publisher, Set<GradleDeployDetails> artifactsDeployDetails,
+                                        ArtifactUploadScheduler scheduler, DeployRecord deployJournal, DeployRecord deployManifest, String taskPath, DeployMetrics metrics) {
+        int minChecksumDeploySizeKb = publisher.getMinChecksumDeploySizeKb();
+        String contextUrl = publisher.getContextUrl();
+        // The search runs in the upload pool, so the deploying task doesn't wait for it
+        scheduler.schedule(artifactsDeployDetails, () -> {
+            // Artifacts that are already deployed with the same content are deployed by checksum regardless of their size
+            Set<String> deployedArtifacts = ChecksumDeployPreflight.findDeployedArtifacts(artifactoryManager, artifactsDeployDetails.stream()
+                    .filter(detail -> !detail.isExcluded())
+                    .map(GradleDeployDetails::getDeployDetails)
+                    .filter(deployDetails -> !deployJournal.contains(contextUrl, deployDetails) && !isInManifest(deployManifest, contextUrl, deployDetails))
+                    .collect(Collectors.toList()));
+            return (detail, logPrefix) -> {
+                boolean deployed = deployedArtifacts.contains(ChecksumDeployPreflight.getKey(detail.getDeployDetails()));
+                deployArtifact(detail, artifactoryManager, logPrefix, deployed ? 0 : minChecksumDeploySizeKb, contextUrl, deployJournal, deployManifest,
+                        metrics.startUpload(taskPath, detail.getDeployDetails()));
+            };
+        });
+    }
+
+    private static boolean isInManifest(DeployRecord deployManifest, String contextUrl, DeployDetails deployDetails) {
+        return deployManifest != null && deployManifest.contains(contextUrl, deployDetails);
+    }
+
+    /**
+     * Get the shared Artifactory manager of the given publisher, creating and configuring it if it does not exist yet.
+     *
+     * @param managers  - the build's shared Artifactory managers
+     * @param accRoot   - client configurations with the connection settings to apply
+     * @param publisher - the publisher to connect with
+     * @return a manager shared by all the publishers with the same connection settings
+     */
+    private static PooledArtifactoryManager getArtifactoryManager(ArtifactoryManagerRegistry managers, ArtifactoryClientConfiguration accRoot, ArtifactoryClientConfiguration.PublisherHandler publisher) {
+        ArtifactoryClientConfiguration.ProxyHandler proxy = accRoot.proxy;
+        List<Object> key = Arrays.asList(publisher.getContextUrl(), publisher.getUsername(), publisher.getPassword(),
+                proxy.getHost(), proxy.getPort(), proxy.getUsername(), proxy.getPassword(), proxy.getNoProxy(),
+                accRoot.getInsecureTls(), accRoot.getTimeout(), accRoot.getConnectionRetries());
+        return managers.getManager(key, () -> {
+            GradleArtifactoryManager artifactoryManager = createArtifactoryManager(publisher);
             configureArtifactoryManager(accRoot, artifactoryManager);
-            deployArtifacts(
-                    artifactsDeployDetails,
-                    artifactoryManager,
-                    new IncludeExcludePatterns(publisher.getIncludePatterns(), publisher.getExcludePatterns()),
-                    logPrefix,
-                    publisher.getMinChecksumDeploySizeKb()
-            );
-        }
+            return artifactoryManager;
+        });
     }
 
-    private static ArtifactoryManager createArtifactoryManager(ArtifactoryClientConfiguration.PublisherHandler publisher) {
+    private static GradleArtifactoryManager createArtifactoryManager(ArtifactoryClientConfiguration.PublisherHandler publisher) {
         String contextUrl = publisher.getContextUrl();
         String username = publisher.getUsername();
         String password = publisher.getPassword();
@@ -100,7 +203,7 @@ public class DeployUtils {
         if (StringUtils.isBlank(password)) {
             password = "";
         }
-        return new ArtifactoryManager(contextUrl, username, password, new GradleClientLogger(log));
+        return new GradleArtifactoryManager(contextUrl, username, password, new GradleClientLogger(log));
     }
 
     private static void configureArtifactoryManager(ArtifactoryClientConfiguration accRoot, ArtifactoryManager artifactoryManager) {
@@ -141,52 +244,93 @@ public class DeployUtils {
     }
 
 
-    private static void deployArtifacts(Set<GradleDeployDetails> artifactsDeployDetails, ArtifactoryManager artifactoryManager, IncludeExcludePatterns patterns, String logPrefix, int minChecksumDeploySizeKb)
-            throws IOException {
-        for (GradleDeployDetails detail : artifactsDeployDetails) {
-            DeployDetails deployDetails = detail.getDeployDetails();
-            String artifactPath = deployDetails.getArtifactPath();
-            if (PatternMatcher.pathConflicts(artifactPath, patterns)) {
-                log.lifecycle("Skipping the deployment of '{}' due to the defined include-exclude patterns.", artifactPath);
-                continue;
-            }
-            try {
-                ArtifactoryUploadResponse response = artifactoryManager.upload(deployDetails, logPrefix, minChecksumDeploySizeKb);
-                detail.getDeployDetails().setDeploySucceeded(true);
-                detail.getDeployDetails().setSha256(response.getChecksums().getSha256());
-            } catch (IOException e) {
-                detail.getDeployDetails().setDeploySucceeded(false);
-                detail.getDeployDetails().setSha256("");
-                throw e;
+    private static void deployArtifact(GradleDeployDetails detail, PooledArtifactoryManager artifactoryManager, String logPrefix, int minChecksumDeploySizeKb,
+                                       String contextUrl, DeployRecord deployJournal, DeployRecord deployManifest, DeployMetrics.Upload upload) throws IOException {
+        DeployDetails deployDetails = detail.getDeployDetails();
+        String artifactPath = deployDetails.getArtifactPath();
+        if (detail.isExcluded()) {
+            log.lifecycle("Skipping the deployment of '{}' due to the defined include-exclude patterns.", artifactPath);
+            upload.finish(DeployMetrics.Status.SKIPPED);
+            return;
+        }
+        if (deployJournal.contains(contextUrl, deployDetails)) {
+            log.lifecycle("Skipping the deployment of '{}', it was deployed by the resumed deployment.", artifactPath);
+            deployDetails.setDeploySucceeded(true);
+            upload.finish(DeployMetrics.Status.SKIPPED);
+            return;
+        }
+        // An artifact identical to its last deployment is deployed by checksum, without uploading its content.
+        // If it was deleted from Artifactory since, the checksum deployment fails and the artifact is uploaded again.
+        int checksumDeploySizeKb = minChecksumDeploySizeKb;
+        if (isInManifest(deployManifest, contextUrl, deployDetails)) {
+            log.info("Deploying '{}' by checksum, it is identical to its last deployment.", artifactPath);
+            checksumDeploySizeKb = 0;
+        }
+        try {
+            int uploadChecksumDeploySizeKb = checksumDeploySizeKb;
+            ArtifactoryUploadResponse response = artifactoryManager.execute(manager -> {
+                upload.started();
+                return manager.upload(deployDetails, logPrefix, uploadChecksumDeploySizeKb);
+            });
+            upload.finish(DeployMetrics.Status.DEPLOYED);
+            deployDetails.setDeploySucceeded(true);
+            deployDetails.setSha256(response.getChecksums().getSha256());
+            deployJournal.add(contextUrl, deployDetails);
+            if (deployManifest != null) {
+                deployManifest.add(contextUrl, deployDetails);
             }
+        } catch (IOException e) {
+            upload.finish(DeployMetrics.Status.FAILED);
+            deployDetails.setDeploySucceeded(false);
+            deployDetails.setSha256("");
+            throw e;
         }
     }
 
     /**
      * Convert the GradleDeployDetails set to DeployDetails for a given task
      */
-    private static Set<DeployDetails> getTaskDeployDetails(ArtifactoryTask artifactoryTask) {
+    private static Set<DeployDetails> getTaskDeployDetails(TaskDeployDetails taskDetails) {
         Set<DeployDetails> deployDetailsSet = new LinkedHashSet<>();
-        for (GradleDeployDetails details : artifactoryTask.getDeployDetails()) {
+        for (GradleDeployDetails details : taskDetails.getDeployDetails()) {
             deployDetailsSet.add(details.getDeployDetails());
         }
         return deployDetailsSet;
     }
 
-    public static void deployBuildInfo(ArtifactoryClientConfiguration accRoot, BuildInfo buildInfo, Map<String, Set<DeployDetails>> allDeployDetails) throws IOException {
+    public static void deployBuildInfo(ArtifactoryClientConfiguration accRoot, BuildInfo buildInfo, Map<String, Set<DeployDetails>> allDeployDetails, ArtifactoryManagerRegistry managers) throws IOException {
         if (accRoot.publisher.getContextUrl() == null) {
             return;
         }
-        try (ArtifactoryManager artifactoryManager = createArtifactoryManager(accRoot.publisher)) {
-            configureProxy(accRoot.proxy, artifactoryManager);
-
-            if (accRoot.publisher.isPublishBuildInfo()) {
-                log.debug("Publishing build info to artifactory at: '{}'", accRoot.publisher.getContextUrl());
+        if (accRoot.publisher.isPublishBuildInfo()) {
+            log.debug("Publishing build info to artifactory at: '{}'", accRoot.publisher.getContextUrl());
+            getArtifactoryManager(managers, accRoot, accRoot.publisher).execute(artifactoryManager -> {
                 Utils.sendBuildAndBuildRetention(artifactoryManager, buildInfo, accRoot);
-            }
+                return null;
+            });
+        }
 
-            exportDeployedArtifacts(accRoot, allDeployDetails);
+        exportDeployedArtifacts(accRoot, allDeployDetails);
+    }
+
+    /**
+     * Deploy a build-info file that was already exported, streaming it as is, and export the deployed artifacts.
+     */
+    public static void deployBuildInfo(ArtifactoryClientConfiguration accRoot, File buildInfoFile, Map<String, Set<DeployDetails>> allDeployDetails, ArtifactoryManagerRegistry managers) throws IOException {
+        if (accRoot.publisher.getContextUrl() == null) {
+            return;
+        }
+        if (accRoot.publisher.isPublishBuildInfo()) {
+            log.debug("Publishing build info file '{}' to artifactory at: '{}'", buildInfoFile, accRoot.publisher.getContextUrl());
+            getArtifactoryManager(managers, accRoot, accRoot.publisher).execute(artifactoryManager -> {
+                artifactoryManager.publishBuildInfo(buildInfoFile, accRoot.info.getProject());
+                return null;
+            });
+            log.lifecycle("Build-info successfully deployed. Browse it in Artifactory under {}/webapp/builds/{}/{}",
+                    StringUtils.removeEnd(accRoot.publisher.getContextUrl(), "/"), accRoot.info.getBuildName(), accRoot.info.getBuildNumber());
         }
+
+        exportDeployedArtifacts(accRoot, allDeployDetails);
     }
 
     private static void exportDeployedArtifacts(ArtifactoryClientConfiguration accRoot, Map<String, Set<DeployDetails>> allDeployDetails) {
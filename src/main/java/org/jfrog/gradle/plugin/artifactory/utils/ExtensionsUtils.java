@@ -2,11 +2,13 @@ package org.jfrog.gradle.plugin.artifactory.utils;
 
 import org.gradle.StartParameter;
 import org.gradle.api.Project;
+import org.gradle.api.logging.Logging;
 import org.jfrog.build.api.BuildInfoFields;
 import org.jfrog.build.api.BuildInfoProperties;
 import org.jfrog.build.api.util.CommonUtils;
 import org.jfrog.build.extractor.BuildInfoExtractorUtils;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryPlugin;
 import org.jfrog.gradle.plugin.artifactory.Constant;
 import org.jfrog.gradle.plugin.artifactory.dsl.ArtifactoryPluginConvention;
 
@@ -44,25 +46,49 @@ public class ExtensionsUtils {
 
     /**
      * Get an extension of a given project that configured a publisher with: contextUrl and repoKey/snapshotRepoKey
-     * If the current project didn't configure a publisher tries the parent until one is found
+     * If the current project didn't configure a publisher tries the parent until one is found.
+     * Once the projects are evaluated, the extension is taken from the publisher index of the build.
      *
      * @param project - the project to fetch its publisher configurations
      * @return an Artifactory extension with publisher configured or null if not found
      */
     public static ArtifactoryPluginConvention getExtensionWithPublisher(Project project) {
+        ArtifactoryPlugin plugin = project.getRootProject().getPlugins().findPlugin(ArtifactoryPlugin.class);
+        if (plugin == null) {
+            return findExtensionWithPublisher(project);
+        }
+        return plugin.getPublisherIndex().getExtensionWithPublisher(project);
+    }
+
+    /**
+     * Look up the extension that configured a publisher in the hierarchy of a given project
+     *
+     * @param project - the project to fetch its publisher configurations
+     * @return an Artifactory extension with publisher configured or null if not found
+     */
+    public static ArtifactoryPluginConvention findExtensionWithPublisher(Project project) {
         while (project != null) {
             ArtifactoryPluginConvention acc = project.getExtensions().findByType(ArtifactoryPluginConvention.class);
-            if (acc != null) {
-                ArtifactoryClientConfiguration.PublisherHandler publisher = acc.getClientConfig().publisher;
-                if (publisher.getContextUrl() != null && (publisher.getRepoKey() != null || publisher.getSnapshotRepoKey() != null)) {
-                    return acc;
-                }
+            if (isPublisherConfigured(acc)) {
+                return acc;
             }
             project = project.getParent();
         }
         return null;
     }
 
+    /**
+     * @param extension - an Artifactory extension, may be null
+     * @return true if the extension configured a publisher with: contextUrl and repoKey/snapshotRepoKey
+     */
+    public static boolean isPublisherConfigured(ArtifactoryPluginConvention extension) {
+        if (extension == null) {
+            return false;
+        }
+        ArtifactoryClientConfiguration.PublisherHandler publisher = extension.getClientConfig().publisher;
+        return publisher.getContextUrl() != null && (publisher.getRepoKey() != null || publisher.getSnapshotRepoKey() != null);
+    }
+
     /**
      * Get the configured (contextUrl and repoKey/snapshotRepoKey) publisher handler of a given project
      *
@@ -77,6 +103,21 @@ public class ExtensionsUtils {
         return extension.getClientConfig().publisher;
     }
 
+    /**
+     * Create a client configuration from the properties of another one.
+     * The properties can be kept without the project that configured them, e.g. in the configuration cache.
+     *
+     * @param properties - the properties of the client configuration to copy
+     * @return a new client configuration with the given properties
+     */
+    public static ArtifactoryClientConfiguration createClientConfig(Map<String, String> properties) {
+        ArtifactoryClientConfiguration configuration = new ArtifactoryClientConfiguration(new GradleClientLogger(Logging.getLogger(ExtensionsUtils.class)));
+        Properties props = new Properties();
+        props.putAll(properties);
+        configuration.fillFromProperties(props);
+        return configuration;
+    }
+
     /**
      * Update and fill a given client configuration with information from:
      * 1) Start parameters
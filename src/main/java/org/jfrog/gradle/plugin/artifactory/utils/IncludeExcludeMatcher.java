@@ -0,0 +1,39 @@
+package org.jfrog.gradle.plugin.artifactory.utils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.build.extractor.clientConfiguration.IncludeExcludePatterns;
+import org.jfrog.build.extractor.clientConfiguration.PatternMatcher;
+
+/**
+ * Matches artifact paths against the include and exclude patterns of a publisher.
+ * The patterns are parsed once per publisher, and paths are not matched at all if the publisher has no patterns.
+ */
+public class IncludeExcludeMatcher {
+    public static final IncludeExcludeMatcher NONE = new IncludeExcludeMatcher(null, null);
+    // Null if no pattern is configured
+    private final IncludeExcludePatterns patterns;
+
+    public IncludeExcludeMatcher(String includePatterns, String excludePatterns) {
+        this.patterns = StringUtils.isAllBlank(includePatterns, excludePatterns) ? null : new IncludeExcludePatterns(includePatterns, excludePatterns);
+    }
+
+    /**
+     * @param publisher - the publisher to match its patterns, may be null
+     * @return a matcher of the publisher's include and exclude patterns
+     */
+    public static IncludeExcludeMatcher of(ArtifactoryClientConfiguration.PublisherHandler publisher) {
+        if (publisher == null) {
+            return NONE;
+        }
+        return new IncludeExcludeMatcher(publisher.getIncludePatterns(), publisher.getExcludePatterns());
+    }
+
+    /**
+     * @param artifactPath - the deploy path of an artifact
+     * @return true if the path is not included or is excluded by the patterns
+     */
+    public boolean isExcluded(String artifactPath) {
+        return patterns != null && PatternMatcher.pathConflicts(artifactPath, patterns);
+    }
+}
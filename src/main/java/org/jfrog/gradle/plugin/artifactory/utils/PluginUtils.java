@@ -13,7 +13,10 @@ import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfigurat
 import org.jfrog.gradle.plugin.artifactory.Constant;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class PluginUtils {
 
@@ -30,6 +33,52 @@ public class PluginUtils {
         }
     }
 
+    /**
+     * Check whether one of the requested tasks may select one of the given tasks, by name or by a camel case
+     * abbreviation of the name (like 'aP' for 'artifactoryPublish'), with or without a project path.
+     * Command line options are ignored.
+     *
+     * @param requestedTasks - The task names requested for the build
+     * @param taskNames      - The task names to look for
+     * @return true if one of the requested tasks matches one of the task names.
+     */
+    public static boolean isAnyTaskRequested(List<String> requestedTasks, String... taskNames) {
+        for (String requestedTask : requestedTasks) {
+            if (StringUtils.isBlank(requestedTask) || requestedTask.startsWith("-")) {
+                continue;
+            }
+            String name = StringUtils.substringAfterLast(":" + requestedTask, ":");
+            Pattern pattern = getTaskNamePattern(name);
+            for (String taskName : taskNames) {
+                if (taskName.equalsIgnoreCase(name) || pattern.matcher(taskName).matches()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create a pattern that matches the task names that Gradle selects by the given camel case name.
+     * Each word of the name may be the prefix of the matching word in the task name.
+     */
+    private static Pattern getTaskNamePattern(String name) {
+        StringBuilder pattern = new StringBuilder();
+        Matcher words = Pattern.compile("((^|\\p{Punct})\\p{javaLowerCase}+)|(\\p{javaUpperCase}\\p{javaLowerCase}*)").matcher(name);
+        int pos = 0;
+        while (words.find()) {
+            if (words.start() > pos) {
+                pattern.append(Pattern.quote(name.substring(pos, words.start())));
+            }
+            pattern.append(Pattern.quote(words.group())).append("[\\p{javaLowerCase}\\p{Digit}]*");
+            pos = words.end();
+        }
+        if (pos < name.length()) {
+            pattern.append(Pattern.quote(name.substring(pos)));
+        }
+        return Pattern.compile(pattern.toString());
+    }
+
     /**
      * Get the {@link ModuleType} object from the user input or GRADLE.
      *
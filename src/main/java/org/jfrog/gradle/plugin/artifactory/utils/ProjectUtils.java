@@ -2,14 +2,11 @@ package org.jfrog.gradle.plugin.artifactory.utils;
 
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
-import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
-import org.jfrog.build.extractor.clientConfiguration.IncludeExcludePatterns;
-import org.jfrog.build.extractor.clientConfiguration.PatternMatcher;
 import org.jfrog.gradle.plugin.artifactory.extractor.GradleDeployDetails;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.Objects;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -64,32 +61,25 @@ public class ProjectUtils {
     }
 
     /**
-     * Filter (Include/Exclude) project deployment details by a given publisher configurations
+     * Partition the project deployment details to the included and the excluded ones by a given publisher configurations, in a single pass
      *
-     * @param project             - project of the given details
-     * @param publisher           - configurations to apply
-     * @param gradleDeployDetails - details to filter
-     * @param isInclude           - if true applying include-pattern or exclude-pattern if false
-     * @return filtered details by the given input
+     * @param projectPath                      - path of the project of the given details
+     * @param filterExcludedArtifactsFromBuild - if true applying the patterns' decision of each detail, else including all the project's details
+     * @param gradleDeployDetails              - details to partition
+     * @return the included details under true and the excluded details under false, each in the order of the given details
      */
-    public static Iterable<GradleDeployDetails> filterIncludeExcludeDetails(Project project, ArtifactoryClientConfiguration.PublisherHandler publisher, Set<GradleDeployDetails> gradleDeployDetails, boolean isInclude) {
-        IncludeExcludePatterns patterns = new IncludeExcludePatterns(
-                publisher.getIncludePatterns(),
-                publisher.getExcludePatterns());
-        if (publisher.isFilterExcludedArtifactsFromBuild()) {
-            return gradleDeployDetails.stream().filter(new IncludeExcludePredicate(project, patterns, isInclude)).collect(Collectors.toSet());
-        }
-        if (!isInclude) {
-            return new ArrayList<>();
-        }
-        return gradleDeployDetails.stream().filter(new ProjectPredicate(project)).collect(Collectors.toSet());
+    public static Map<Boolean, List<GradleDeployDetails>> partitionIncludeExcludeDetails(String projectPath, boolean filterExcludedArtifactsFromBuild,
+                                                                                         Set<GradleDeployDetails> gradleDeployDetails) {
+        return gradleDeployDetails.stream()
+                .filter(new ProjectPredicate(projectPath))
+                .collect(Collectors.partitioningBy(details -> !filterExcludedArtifactsFromBuild || !details.isExcluded()));
     }
 
     public static class ProjectPredicate implements Predicate<GradleDeployDetails> {
-        private final Project project;
+        private final String projectPath;
 
-        private ProjectPredicate(Project project) {
-            this.project = project;
+        private ProjectPredicate(String projectPath) {
+            this.projectPath = projectPath;
         }
 
         @Override
@@ -97,30 +87,7 @@ public class ProjectUtils {
             if (input == null) {
                 return false;
             }
-            return input.getProject().equals(project);
-        }
-    }
-
-    public static class IncludeExcludePredicate implements Predicate<GradleDeployDetails> {
-        private final Project project;
-        private final IncludeExcludePatterns patterns;
-        private final boolean include;
-
-        public IncludeExcludePredicate(Project project, IncludeExcludePatterns patterns, boolean include) {
-            this.project = project;
-            this.patterns = patterns;
-            this.include = include;
-        }
-
-        @Override
-        public boolean test(@Nullable GradleDeployDetails input) {
-            if (input == null || !Objects.equals(input.getProject(), project)) {
-                return false;
-            }
-            if (include) {
-                return !PatternMatcher.pathConflicts(input.getDeployDetails().getArtifactPath(), patterns);
-            }
-            return PatternMatcher.pathConflicts(input.getDeployDetails().getArtifactPath(), patterns);
+            return input.getProjectPath().equals(projectPath);
         }
     }
 }
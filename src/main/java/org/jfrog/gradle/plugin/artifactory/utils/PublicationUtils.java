@@ -14,17 +14,18 @@ import org.gradle.api.publish.ivy.plugins.IvyPublishPlugin;
 import org.gradle.api.publish.maven.MavenPublication;
 import org.gradle.api.publish.maven.plugins.MavenPublishPlugin;
 import org.jfrog.build.api.multiMap.Multimap;
-import org.jfrog.build.api.util.FileChecksumCalculator;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactSpec;
 import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
 import org.jfrog.gradle.plugin.artifactory.Constant;
-import org.jfrog.gradle.plugin.artifactory.extractor.GradleDeployDetails;
+import org.jfrog.gradle.plugin.artifactory.checksum.ChecksumCache;
+import org.jfrog.gradle.plugin.artifactory.extractor.PublicationArtifact;
 import org.jfrog.gradle.plugin.artifactory.extractor.PublishArtifactInfo;
 import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.jfrog.build.api.util.FileChecksumCalculator.*;
@@ -117,21 +118,19 @@ public class PublicationUtils {
     }
 
     /**
-     * Extract archive configuration artifacts, creates deploy details for it and stores them at the given destination
+     * Capture the artifacts of an archive configuration to deploy and add them to the given destination
      *
      * @param configuration - configuration containing the artifacts to publish
      * @param publisher     - publisher handler of the project
-     * @param destination   - task to collect and store the created details
+     * @param task          - the task that collects the artifacts
+     * @param destination   - the artifacts to deploy
      */
-    public static void extractArchivesDeployDetails(Configuration configuration, ArtifactoryClientConfiguration.PublisherHandler publisher, ArtifactoryTask destination) {
-        Project project = destination.getProject();
+    public static void extractArchivesArtifacts(Configuration configuration, ArtifactoryClientConfiguration.PublisherHandler publisher, ArtifactoryTask task,
+                                                List<PublicationArtifact> destination) {
+        Project project = task.getProject();
         PublishArtifactSet artifacts = configuration.getAllArtifacts();
         for (PublishArtifact artifact : artifacts) {
             File file = artifact.getFile();
-            DeployDetails.Builder builder = createArtifactBuilder(file, configuration.getName());
-            if (builder == null) {
-                continue;
-            }
             String gid = project.getGroup().toString();
             if (publisher.isM2Compatible()) {
                 gid = gid.replace(".", "/");
@@ -145,31 +144,27 @@ public class PublicationUtils {
                     artifact.getExtension(), configuration.getName(),
                     extraTokens, null);
 
-            builder.artifactPath(artifactPath);
-
             PublishArtifactInfo artifactInfo = new PublishArtifactInfo(artifact.getName(), artifact.getExtension(), artifact.getType(), artifact.getClassifier(), null, file);
-            addArtifactInfoToDeployDetails(destination, configuration.getName(), builder, artifactInfo, artifactPath);
+            addPublicationArtifact(task, destination, configuration.getName(), artifactInfo, artifactPath, false);
         }
     }
 
     /**
-     * Adds a general artifact to deploy details in the given task destination
+     * Adds a general artifact to the artifacts to deploy
      *
-     * @param destination     - Task to collect and store the created details
+     * @param task            - The task that collects the artifacts
+     * @param destination     - The artifacts to deploy
      * @param publicationName - The publication name that published this artifact
-     * @param builder         - Deploy details builder
      * @param artifactInfo    - The artifact info
      * @param artifactPath    - The full path string to deploy the artifact
+     * @param optional        - If true, the artifact is deployed only if its file exists
      */
-    public static void addArtifactInfoToDeployDetails(ArtifactoryTask destination, String publicationName,
-                                                      DeployDetails.Builder builder, PublishArtifactInfo artifactInfo, String artifactPath) {
-        Project project = destination.getProject();
-        ArtifactoryClientConfiguration.PublisherHandler publisher = ExtensionsUtils.getPublisherHandler(project);
+    public static void addPublicationArtifact(ArtifactoryTask task, List<PublicationArtifact> destination, String publicationName,
+                                              PublishArtifactInfo artifactInfo, String artifactPath, boolean optional) {
+        ArtifactoryClientConfiguration.PublisherHandler publisher = ExtensionsUtils.getPublisherHandler(task.getProject());
         if (publisher != null) {
-            builder.targetRepository(getTargetRepository(artifactPath, publisher));
-            Map<String, String> propsToAdd = getPropsToAdd(destination, artifactInfo, publicationName);
-            builder.addProperties(propsToAdd);
-            destination.getDeployDetails().add(new GradleDeployDetails(artifactInfo, builder.build(), project));
+            Map<String, String> propsToAdd = getPropsToAdd(task, artifactInfo, publicationName);
+            destination.add(new PublicationArtifact(artifactInfo, publicationName, artifactPath, getTargetRepository(artifactPath, publisher), propsToAdd, optional));
         }
     }
 
@@ -226,9 +221,10 @@ public class PublicationUtils {
      *
      * @param file            - the artifact file
      * @param publicationName - the publication name that published this artifact
+     * @param checksumCache   - cache of the artifacts checksums
      * @return DeployDetails.Builder configured for Gradle artifact
      */
-    public static DeployDetails.Builder createArtifactBuilder(File file, String publicationName) {
+    public static DeployDetails.Builder createArtifactBuilder(File file, String publicationName, ChecksumCache checksumCache) {
         if (!file.exists()) {
             throw new GradleException("File '" + file.getAbsolutePath() + "'" +
                     " does not exist, and need to be published from publication " + publicationName);
@@ -238,8 +234,7 @@ public class PublicationUtils {
                 .file(file)
                 .packageType(DeployDetails.PackageType.GRADLE);
         try {
-            Map<String, String> checksums =
-                    FileChecksumCalculator.calculateChecksums(file, MD5_ALGORITHM, SHA1_ALGORITHM, SHA256_ALGORITHM);
+            Map<String, String> checksums = checksumCache.getChecksums(file);
             artifactBuilder.md5(checksums.get(MD5_ALGORITHM)).sha1(checksums.get(SHA1_ALGORITHM)).sha256(checksums.get(SHA256_ALGORITHM));
         } catch (Exception e) {
             throw new GradleException(
@@ -3,9 +3,18 @@ package org.jfrog.gradle.plugin.artifactory.utils;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.UnknownTaskException;
-import org.gradle.api.execution.TaskExecutionGraph;
+import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskProvider;
+import org.jfrog.build.client.Version;
+import org.jfrog.build.extractor.clientConfiguration.ArtifactoryClientConfiguration;
+import org.jfrog.gradle.plugin.artifactory.ArtifactoryBuildService;
 import org.jfrog.gradle.plugin.artifactory.Constant;
 import org.jfrog.gradle.plugin.artifactory.extractor.ModuleInfoFileProducer;
 import org.jfrog.gradle.plugin.artifactory.task.ArtifactoryTask;
@@ -14,9 +23,7 @@ import org.jfrog.gradle.plugin.artifactory.task.ExtractModuleTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 public class TaskUtils {
     private static final Logger log = LoggerFactory.getLogger(TaskUtils.class);
@@ -82,17 +89,103 @@ public class TaskUtils {
         }
         // Lazy Configure
         taskProvider.configure(extractModuleTask -> {
-            extractModuleTask.getOutputs().upToDateWhen(reuseOutputs -> false);
             extractModuleTask.getModuleFile().set(project.getLayout().getBuildDirectory().file(Constant.MODULE_INFO_FILE_NAME));
-            extractModuleTask.mustRunAfter(project.getTasks().withType(ArtifactoryTask.class));
+            configureExtractModuleInputs(extractModuleTask, collectDeployDetailsTask, project);
         });
         TaskProvider<ExtractModuleTask> finalTaskProvider = taskProvider;
         // The ExtractModuleTask is not configured as a direct dependency for the DeployTask.
-        // Instead, the DeployTask uses a ModuleInfoFileProducer to lazily obtain the module-info file.
-        // This ensures that ExtractModuleTask runs only when needed and after ArtifactoryTask has collected the deployment details.
-        project.getRootProject().getTasks().withType(DeployTask.class).configureEach(deployTask ->
-                deployTask.registerModuleInfoProducer(new DefaultModuleInfoFileProducer(collectDeployDetailsTask.get(), finalTaskProvider.get()))
-        );
+        // Instead, it finalizes the ArtifactoryTask, so it runs only when the ArtifactoryTask of its project is requested.
+        collectDeployDetailsTask.configure(collectTask -> collectTask.finalizedBy(finalTaskProvider));
+        project.getRootProject().getTasks().withType(DeployTask.class).configureEach(deployTask -> deployTask.mustRunAfter(collectDeployDetailsTask, finalTaskProvider));
+        // The DeployTask uses a ModuleInfoFileProducer to lazily obtain the module-info file, and deploys only the
+        // details of the ArtifactoryTask tasks in the task graph, as requested in the build.
+        project.getGradle().getTaskGraph().whenReady(taskGraph -> {
+            if (!taskGraph.hasTask(collectDeployDetailsTask.get())) {
+                return;
+            }
+            project.getRootProject().getTasks().withType(DeployTask.class).configureEach(deployTask -> {
+                deployTask.registerModuleInfoProducer(new DefaultModuleInfoFileProducer(project.provider(collectDeployDetailsTask.get()::hasPublications), finalTaskProvider.get()));
+                deployTask.registerCollectedDeployDetails(collectDeployDetailsTask);
+            });
+        });
+    }
+
+    /**
+     * Declare the inputs of a given ExtractModuleTask, so the task is skipped if its module did not change.
+     * The values are captured once the task graph is ready.
+     *
+     * @param extractModuleTask        - the task to configure
+     * @param collectDeployDetailsTask - the task that collects the module's publications
+     * @param project                  - the project of the tasks
+     */
+    private static void configureExtractModuleInputs(ExtractModuleTask extractModuleTask, TaskProvider<ArtifactoryTask> collectDeployDetailsTask, Project project) {
+        extractModuleTask.getModuleId().set(project.provider(() -> ProjectUtils.getId(project)));
+        extractModuleTask.getModuleType().set(collectDeployDetailsTask.map(ArtifactoryTask::getModuleType));
+        // Consumed from the outputs of the Artifactory task, which the extraction depends on
+        extractModuleTask.getTaskDeployDetails().set(collectDeployDetailsTask.flatMap(ArtifactoryTask::getTaskDeployDetails));
+        extractModuleTask.getDeployDetailsFile().from(collectDeployDetailsTask.flatMap(ArtifactoryTask::getDeployDetailsFile));
+        Provider<ArtifactoryClientConfiguration.PublisherHandler> publisher = project.provider(() -> ExtensionsUtils.getPublisherHandler(project));
+        extractModuleTask.getIncludePatterns().set(publisher.map(ArtifactoryClientConfiguration.PublisherHandler::getIncludePatterns));
+        extractModuleTask.getExcludePatterns().set(publisher.map(ArtifactoryClientConfiguration.PublisherHandler::getExcludePatterns));
+        extractModuleTask.getFilterExcludedArtifactsFromBuild().set(publisher.map(ArtifactoryClientConfiguration.PublisherHandler::isFilterExcludedArtifactsFromBuild));
+        extractModuleTask.getResolvedDependencies().set(project.provider(() -> {
+            // Sorted by name, so the dependencies are listed in the same order in every build
+            Map<String, ArtifactCollection> resolvedDependencies = new TreeMap<>();
+            for (Configuration configuration : getReportedConfigurations(project)) {
+                resolvedDependencies.put(configuration.getName(), configuration.getIncoming().artifactView(view -> view.setLenient(true)).getArtifacts());
+            }
+            return resolvedDependencies;
+        }));
+        extractModuleTask.getProjectModuleIds().set(project.provider(() -> {
+            // Project components are identified by their path in the build tree, so projects of included builds are told apart
+            Map<String, String> projectModuleIds = new HashMap<>();
+            for (Configuration configuration : getReportedConfigurations(project)) {
+                for (ResolvedComponentResult component : configuration.getIncoming().getResolutionResult().getAllComponents()) {
+                    if (component.getId() instanceof ProjectComponentIdentifier && component.getModuleVersion() != null) {
+                        projectModuleIds.putIfAbsent(component.getId().getDisplayName(), ProjectUtils.getId(component.getModuleVersion()));
+                    }
+                }
+            }
+            return projectModuleIds;
+        }));
+        extractModuleTask.getModuleId().finalizeValueOnRead();
+        extractModuleTask.getModuleType().finalizeValueOnRead();
+        extractModuleTask.getTaskDeployDetails().finalizeValueOnRead();
+        extractModuleTask.getIncludePatterns().finalizeValueOnRead();
+        extractModuleTask.getExcludePatterns().finalizeValueOnRead();
+        extractModuleTask.getFilterExcludedArtifactsFromBuild().finalizeValueOnRead();
+        extractModuleTask.getResolvedDependencies().finalizeValueOnRead();
+        extractModuleTask.getProjectModuleIds().finalizeValueOnRead();
+    }
+
+    /**
+     * Get the configurations of a given project to report the dependencies of in the module info: the resolvable
+     * configurations that the build already resolved, and the ones that the published variants of the main source set
+     * resolve from. Configurations that the build did not need are not resolved only to be reported.
+     *
+     * @param project - the project of the configurations
+     * @return the configurations to report
+     */
+    private static List<Configuration> getReportedConfigurations(Project project) {
+        Set<String> publishedConfigurations = new HashSet<>();
+        SourceSetContainer sourceSets = project.getExtensions().findByType(SourceSetContainer.class);
+        SourceSet mainSourceSet = sourceSets != null ? sourceSets.findByName(SourceSet.MAIN_SOURCE_SET_NAME) : null;
+        if (mainSourceSet != null) {
+            publishedConfigurations.add(mainSourceSet.getCompileClasspathConfigurationName());
+            publishedConfigurations.add(mainSourceSet.getRuntimeClasspathConfigurationName());
+        }
+        List<Configuration> configurations = new ArrayList<>();
+        for (Configuration configuration : project.getConfigurations()) {
+            if (!configuration.isCanBeResolved()) {
+                continue;
+            }
+            if (configuration.getState() == Configuration.State.RESOLVED || publishedConfigurations.contains(configuration.getName())) {
+                configurations.add(configuration);
+            } else {
+                log.debug("Artifacts for configuration '{}' were not all resolved, skipping", configuration.getName());
+            }
+        }
+        return configurations;
     }
 
     /**
@@ -126,45 +219,42 @@ public class TaskUtils {
     }
 
     /**
-     * Get a list of all the ArtifactoryTask tasks of a given project and its submodules
+     * Declare that the plugin's tasks of a given project use the build service, so Gradle honors its max parallel usages.
+     * Supported since Gradle 7.0, older versions use the service without declaring it.
      *
-     * @param project - project to get its related tasks
-     * @return list of all the ArtifactoryTask that ran
+     * @param project      - the project of the tasks
+     * @param buildService - the build service provider
      */
-    public static List<ArtifactoryTask> getAllArtifactoryPublishTasks(Project project) {
-        TaskExecutionGraph graph = project.getGradle().getTaskGraph();
-        List<ArtifactoryTask> tasks = new ArrayList<>();
-        for (Task task : graph.getAllTasks()) {
-            if (task instanceof ArtifactoryTask) {
-                tasks.add(((ArtifactoryTask) task));
-            }
+    public static void declareBuildServiceUsage(Project project, Provider<ArtifactoryBuildService> buildService) {
+        if (!new Version(project.getGradle().getGradleVersion()).isAtLeast(Constant.MIN_USES_SERVICE_GRADLE_VERSION)) {
+            return;
         }
-        return tasks;
+        project.getTasks().withType(ArtifactoryTask.class).configureEach(task -> task.usesService(buildService));
+        project.getTasks().withType(ExtractModuleTask.class).configureEach(task -> task.usesService(buildService));
+        project.getTasks().withType(DeployTask.class).configureEach(task -> task.usesService(buildService));
     }
 
     /**
-     * Produce module info files if the module has publications to deploy from the collecting task
+     * Produce module info files if the module has publications to deploy from the collecting task.
+     * Holds no task or project, so the deploy task can be stored in the configuration cache.
      */
     private static class DefaultModuleInfoFileProducer implements ModuleInfoFileProducer {
-        private final ArtifactoryTask collectDeployDetailsTask;
-        private final ExtractModuleTask extractModuleTask;
+        private final Provider<Boolean> hasPublications;
+        private final FileCollection moduleInfoFiles;
 
-        DefaultModuleInfoFileProducer(ArtifactoryTask collectDeployDetailsTask, ExtractModuleTask extractModuleTask) {
-            this.collectDeployDetailsTask = collectDeployDetailsTask;
-            this.extractModuleTask = extractModuleTask;
+        DefaultModuleInfoFileProducer(Provider<Boolean> hasPublications, ExtractModuleTask extractModuleTask) {
+            this.hasPublications = hasPublications;
+            this.moduleInfoFiles = extractModuleTask.getOutputs().getFiles();
         }
 
         @Override
         public boolean hasModules() {
-            if (collectDeployDetailsTask != null && collectDeployDetailsTask.getProject().getState().getExecuted()) {
-                return collectDeployDetailsTask.hasPublications();
-            }
-            return false;
+            return hasPublications.get();
         }
 
         @Override
         public FileCollection getModuleInfoFiles() {
-            return extractModuleTask.getOutputs().getFiles();
+            return moduleInfoFiles;
         }
     }
 }
@@ -0,0 +1,114 @@
+package org.jfrog.gradle.plugin.artifactory.checksum;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+import org.jfrog.build.api.util.FileChecksumCalculator;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.jfrog.build.api.util.FileChecksumCalculator.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+public class ChecksumCacheTest {
+    private File tempDir;
+    private File file;
+    private Provider<RegularFile> cacheFile;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("checksum-cache").toFile();
+        file = new File(tempDir, "lib-1.0.jar");
+        FileUtils.writeStringToFile(file, "content", StandardCharsets.UTF_8);
+        RegularFile regularFile = mock(RegularFile.class);
+        when(regularFile.getAsFile()).thenReturn(new File(tempDir, "checksums.txt"));
+        cacheFile = mock(Provider.class);
+        when(cacheFile.get()).thenReturn(regularFile);
+    }
+
+    @AfterMethod
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    @Test
+    void testHitAndMiss() throws Exception {
+        ChecksumCache cache = new ChecksumCache(cacheFile);
+        assertEquals(cache.getChecksums(file), calculateChecksums(file));
+        assertEquals(cache.getMisses(), 1);
+        assertEquals(cache.getHashedBytes(), file.length());
+
+        assertEquals(cache.getChecksums(file), calculateChecksums(file));
+        assertEquals(cache.getHits(), 1);
+        assertEquals(cache.getMisses(), 1);
+    }
+
+    @Test
+    void testInvalidation() throws Exception {
+        ChecksumCache cache = new ChecksumCache(cacheFile);
+        cache.getChecksums(file);
+
+        // Same size, different content and modification time
+        FileTime lastModified = Files.getLastModifiedTime(file.toPath());
+        FileUtils.writeStringToFile(file, "changed", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(lastModified.toMillis() + 2000));
+        assertEquals(cache.getChecksums(file), calculateChecksums(file));
+        assertEquals(cache.getHits(), 0);
+        assertEquals(cache.getMisses(), 2);
+    }
+
+    @Test
+    void testSaveAndLoad() throws Exception {
+        ChecksumCache cache = new ChecksumCache(cacheFile);
+        cache.getChecksums(file);
+        cache.save();
+
+        ChecksumCache loadedCache = new ChecksumCache(cacheFile);
+        assertEquals(loadedCache.getChecksums(file), calculateChecksums(file));
+        assertEquals(loadedCache.getHits(), 1);
+        assertEquals(loadedCache.getMisses(), 0);
+    }
+
+    @Test
+    void testKnownChecksums() throws Exception {
+        ChecksumCache cache = new ChecksumCache(cacheFile, knownFile -> Collections.singletonMap(SHA1_ALGORITHM, "known"));
+        Map<String, String> checksums = cache.getChecksums(file);
+        assertEquals(checksums.get(SHA1_ALGORITHM), "known");
+        assertEquals(checksums.get(SHA256_ALGORITHM), calculateChecksums(file).get(SHA256_ALGORITHM));
+    }
+
+    @Test
+    void testModifiedWhileHashing() throws Exception {
+        // The known checksums are fetched while the file is being hashed
+        ChecksumCache cache = new ChecksumCache(cacheFile, hashedFile -> {
+            try {
+                FileUtils.writeStringToFile(hashedFile, "appended", StandardCharsets.UTF_8, true);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return Collections.emptyMap();
+        });
+        cache.getChecksums(file);
+
+        // The checksums were not cached, since the file changed after its attributes were read
+        cache.getChecksums(file);
+        assertEquals(cache.getHits(), 0);
+        assertEquals(cache.getMisses(), 2);
+    }
+
+    private static Map<String, String> calculateChecksums(File file) throws Exception {
+        return FileChecksumCalculator.calculateChecksums(file, MD5_ALGORITHM, SHA1_ALGORITHM, SHA256_ALGORITHM);
+    }
+}
@@ -0,0 +1,57 @@
+package org.jfrog.gradle.plugin.artifactory.checksum;
+
+import org.jfrog.build.api.util.FileChecksumCalculator;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Random;
+
+import static org.jfrog.build.api.util.FileChecksumCalculator.*;
+import static org.testng.Assert.assertEquals;
+
+public class ChecksumCalculatorTest {
+
+    @DataProvider
+    public Object[][] fileSizes() {
+        return new Object[][]{
+                {0},
+                {1},
+                {1024 * 1024},
+                {3 * 1024 * 1024 + 17},
+        };
+    }
+
+    @Test(dataProvider = "fileSizes")
+    void testCalculateChecksums(int size) throws Exception {
+        File file = createFile(size);
+        try {
+            Map<String, String> expected = FileChecksumCalculator.calculateChecksums(file, MD5_ALGORITHM, SHA1_ALGORITHM, SHA256_ALGORITHM);
+            Map<String, String> actual = ChecksumCalculator.calculateChecksums(file, MD5_ALGORITHM, SHA1_ALGORITHM, SHA256_ALGORITHM);
+            assertEquals(actual, expected);
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    void testUnsupportedAlgorithm() throws IOException {
+        File file = createFile(1);
+        try {
+            ChecksumCalculator.calculateChecksums(file, "NO-SUCH-ALGORITHM");
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    private static File createFile(int size) throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        File file = Files.createTempFile("checksums", ".bin").toFile();
+        Files.write(file.toPath(), content);
+        return file;
+    }
+}
@@ -0,0 +1,84 @@
+package org.jfrog.gradle.plugin.artifactory.checksum;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.jfrog.build.api.util.FileChecksumCalculator.*;
+import static org.testng.Assert.*;
+
+public class GradleCacheChecksumProviderTest {
+    private static final String SHA256 = "2ea7a0c1d5f1b5d4f7c9e0a0d1f0b6e7c1f5b9d4a6c8e2f0a1b3c5d7e9f1a3b5";
+    private File tempDir;
+    private File gradleUserHome;
+    private File verificationMetadata;
+
+    @BeforeMethod
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("gradle-cache-checksums").toFile();
+        gradleUserHome = new File(tempDir, "gradle-home");
+        verificationMetadata = new File(tempDir, "verification-metadata.xml");
+        FileUtils.writeStringToFile(verificationMetadata, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<verification-metadata xmlns=\"https://schema.gradle.org/dependency-verification\">\n" +
+                "   <components>\n" +
+                "      <component group=\"com.acme\" name=\"lib\" version=\"1.0\">\n" +
+                "         <artifact name=\"lib-1.0.jar\">\n" +
+                "            <sha256 value=\"" + SHA256 + "\" origin=\"Generated by Gradle\"/>\n" +
+                "         </artifact>\n" +
+                "      </component>\n" +
+                "   </components>\n" +
+                "</verification-metadata>\n", StandardCharsets.UTF_8);
+    }
+
+    @AfterMethod
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    @Test
+    void testCachedDependency() {
+        GradleCacheChecksumProvider provider = new GradleCacheChecksumProvider(gradleUserHome, verificationMetadata, true);
+        File jar = new File(gradleUserHome, "caches/modules-2/files-2.1/com.acme/lib/1.0/abc123/lib-1.0.jar");
+
+        Map<String, String> checksums = provider.getKnownChecksums(jar);
+        assertEquals(checksums.get(SHA1_ALGORITHM), "0000000000000000000000000000000000abc123");
+        assertEquals(checksums.get(SHA256_ALGORITHM), SHA256);
+        assertNull(checksums.get(MD5_ALGORITHM));
+    }
+
+    @Test
+    void testLenientVerification() {
+        // The verification metadata is not enforced, only the SHA-1 of the cache path is trusted
+        GradleCacheChecksumProvider provider = new GradleCacheChecksumProvider(gradleUserHome, verificationMetadata, false);
+        File jar = new File(gradleUserHome, "caches/modules-2/files-2.1/com.acme/lib/1.0/abc123/lib-1.0.jar");
+
+        Map<String, String> checksums = provider.getKnownChecksums(jar);
+        assertEquals(checksums.size(), 1);
+        assertEquals(checksums.get(SHA1_ALGORITHM), "0000000000000000000000000000000000abc123");
+    }
+
+    @Test
+    void testNotCachedFile() {
+        GradleCacheChecksumProvider provider = new GradleCacheChecksumProvider(gradleUserHome, verificationMetadata, true);
+        assertTrue(provider.getKnownChecksums(new File(tempDir, "build/libs/lib-1.0.jar")).isEmpty());
+        assertTrue(provider.getKnownChecksums(new File(gradleUserHome, "caches/modules-2/files-2.1/com.acme/lib/1.0/lib-1.0.jar")).isEmpty());
+        assertTrue(provider.getKnownChecksums(new File(gradleUserHome, "caches/modules-2/files-2.1/com.acme/lib/1.0/not-a-sha1/lib-1.0.jar")).isEmpty());
+    }
+
+    @Test
+    void testMissingVerificationMetadata() {
+        GradleCacheChecksumProvider provider = new GradleCacheChecksumProvider(gradleUserHome, new File(tempDir, "missing.xml"), true);
+        File jar = new File(gradleUserHome, "caches/modules-2/files-2.1/com.acme/lib/1.0/abc123/lib-1.0.jar");
+
+        Map<String, String> checksums = provider.getKnownChecksums(jar);
+        assertEquals(checksums.size(), 1);
+        assertEquals(checksums.get(SHA1_ALGORITHM), "0000000000000000000000000000000000abc123");
+    }
+}
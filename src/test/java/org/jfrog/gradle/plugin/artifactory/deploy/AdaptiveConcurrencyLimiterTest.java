@@ -0,0 +1,61 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void testIncreaseAndDecrease() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4);
+        assertEquals(limiter.getLimit(), 2);
+
+        // Grows by one for every limit-worth of successful uploads, up to the maximum
+        succeed(limiter, 2);
+        assertEquals(limiter.getLimit(), 3);
+        succeed(limiter, 3);
+        assertEquals(limiter.getLimit(), 4);
+        succeed(limiter, 10);
+        assertEquals(limiter.getLimit(), 4);
+
+        // Halved when throttled
+        limiter.acquire();
+        limiter.onThrottled();
+        assertEquals(limiter.getLimit(), 2);
+        assertTrue(limiter.getSummary().contains("highest 4 (max 4), final 2, 1 throttled uploads"), limiter.getSummary());
+    }
+
+    @Test
+    void testNoIncreaseWhenCongested() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8);
+        limiter.acquire();
+        limiter.onSuccess(LATENCY);
+        // Uploads much slower than the average don't grow the limit
+        for (int i = 0; i < 2; i++) {
+            limiter.acquire();
+            limiter.onSuccess(LATENCY * 10);
+        }
+        assertEquals(limiter.getLimit(), 2);
+    }
+
+    @Test
+    void testIsThrottled() {
+        assertTrue(AdaptiveConcurrencyLimiter.isThrottled(new IOException("Failed to deploy file. Status code: 429 Response message: Too Many Requests")));
+        assertTrue(AdaptiveConcurrencyLimiter.isThrottled(new RuntimeException(new IOException("HTTP/1.1 503 Service Unavailable"))));
+        assertFalse(AdaptiveConcurrencyLimiter.isThrottled(new IOException("Failed to deploy file lib-429.jar. Status code: 409")));
+    }
+
+    private static void succeed(AdaptiveConcurrencyLimiter limiter, int uploads) throws InterruptedException {
+        for (int i = 0; i < uploads; i++) {
+            limiter.acquire();
+            limiter.onSuccess(LATENCY);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.extractor.GradleDeployDetails;
+import org.jfrog.gradle.plugin.artifactory.extractor.PublishArtifactInfo;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class ArtifactUploadSchedulerTest {
+
+    @Test
+    void testSequentialUpload() {
+        List<GradleDeployDetails> deployDetails = Arrays.asList(createDeployDetails("lib-1.0.jar"), createDeployDetails("lib-1.0.pom"));
+        List<String> uploaded = new ArrayList<>();
+        try (ArtifactUploadScheduler scheduler = new ArtifactUploadScheduler(1)) {
+            scheduler.schedule(deployDetails, (details, logPrefix) -> {
+                assertNull(logPrefix);
+                uploaded.add(details.getPublishArtifact().getName());
+            });
+            scheduler.awaitCompletion();
+        }
+        assertEquals(uploaded, Arrays.asList("lib-1.0.jar", "lib-1.0.pom"));
+    }
+
+    @Test
+    void testDescriptorsUploadedLast() {
+        List<GradleDeployDetails> deployDetails = Arrays.asList(createDeployDetails("lib-1.0.jar"),
+                createDeployDetails("lib-1.0-sources.jar"), createDeployDetails("lib-1.0.pom"));
+        List<String> uploaded = Collections.synchronizedList(new ArrayList<>());
+        try (ArtifactUploadScheduler scheduler = new ArtifactUploadScheduler(4)) {
+            scheduler.schedule(deployDetails, (details, logPrefix) -> {
+                assertNotNull(logPrefix);
+                if ("lib-1.0.jar".equals(details.getPublishArtifact().getName())) {
+                    sleep(200);
+                }
+                uploaded.add(details.getPublishArtifact().getName());
+            });
+            scheduler.awaitCompletion();
+        }
+        assertEquals(uploaded.size(), 3);
+        assertEquals(uploaded.get(2), "lib-1.0.pom");
+    }
+
+    @Test
+    void testUploaderCreatedInPool() {
+        Thread callingThread = Thread.currentThread();
+        List<String> uploaded = Collections.synchronizedList(new ArrayList<>());
+        try (ArtifactUploadScheduler scheduler = new ArtifactUploadScheduler(4)) {
+            scheduler.schedule(Arrays.asList(createDeployDetails("lib-1.0.jar"), createDeployDetails("lib-1.0.pom")), () -> {
+                assertNotSame(Thread.currentThread(), callingThread);
+                return (details, logPrefix) -> uploaded.add(details.getPublishArtifact().getName());
+            });
+            scheduler.awaitCompletion();
+        }
+        assertEquals(uploaded, Arrays.asList("lib-1.0.jar", "lib-1.0.pom"));
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    void testFailedUpload() {
+        try (ArtifactUploadScheduler scheduler = new ArtifactUploadScheduler(4)) {
+            scheduler.schedule(Collections.singletonList(createDeployDetails("lib-1.0.jar")), (details, logPrefix) -> {
+                throw new IOException("Failed to deploy file. Status code: 409");
+            });
+            scheduler.awaitCompletion();
+        }
+    }
+
+    @Test
+    void testThrottledUploadRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (ArtifactUploadScheduler scheduler = new ArtifactUploadScheduler(4, true)) {
+            scheduler.schedule(Collections.singletonList(createDeployDetails("lib-1.0.jar")), (details, logPrefix) -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IOException("Failed to deploy file. Status code: 429 Response message: Too Many Requests");
+                }
+            });
+            scheduler.awaitCompletion();
+            assertEquals(attempts.get(), 2);
+            assertTrue(scheduler.getLimiter().getSummary().contains("1 throttled uploads"), scheduler.getLimiter().getSummary());
+        }
+    }
+
+    private static GradleDeployDetails createDeployDetails(String name) {
+        DeployDetails deployDetails = new DeployDetails.Builder()
+                .file(new File(name))
+                .targetRepository("libs-release")
+                .artifactPath("org/acme/lib/1.0/" + name)
+                .build();
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+        PublishArtifactInfo artifactInfo = new PublishArtifactInfo(name, extension, extension, null, new File(name));
+        return new GradleDeployDetails(artifactInfo, deployDetails, ":lib");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
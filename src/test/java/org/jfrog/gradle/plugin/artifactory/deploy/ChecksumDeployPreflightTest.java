@@ -0,0 +1,31 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+
+public class ChecksumDeployPreflightTest {
+
+    @Test
+    void testCreateAql() {
+        DeployDetails jar = new DeployDetails.Builder()
+                .targetRepository("libs-release")
+                .artifactPath("org/acme/lib/1.0/lib-1.0.jar")
+                .sha1("a3065b7ce8eadbe6b21e27d10fb50ebaace08271")
+                .build();
+        DeployDetails rootFile = new DeployDetails.Builder()
+                .targetRepository("libs-release")
+                .artifactPath("file\"name.txt")
+                .sha1("fc58387a8467cb37f5e7f00929df3262fc58387a")
+                .build();
+
+        assertEquals(ChecksumDeployPreflight.createAql(Arrays.asList(jar, rootFile)), "items.find({\"$or\":[" +
+                "{\"$and\":[{\"repo\":\"libs-release\"},{\"path\":\"org/acme/lib/1.0\"},{\"name\":\"lib-1.0.jar\"},{\"actual_sha1\":\"a3065b7ce8eadbe6b21e27d10fb50ebaace08271\"}]}," +
+                "{\"$and\":[{\"repo\":\"libs-release\"},{\"path\":\".\"},{\"name\":\"file\\\"name.txt\"},{\"actual_sha1\":\"fc58387a8467cb37f5e7f00929df3262fc58387a\"}]}" +
+                "]}).include(\"repo\",\"path\",\"name\")");
+        assertEquals(ChecksumDeployPreflight.getKey(jar), "libs-release/org/acme/lib/1.0/lib-1.0.jar");
+    }
+}
@@ -0,0 +1,84 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class DeployJournalTest {
+    private static final String URL = "http://localhost:8081/artifactory/";
+    private File tempDir;
+    private Path journalFile;
+
+    @BeforeMethod
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("deploy-journal").toFile();
+        journalFile = tempDir.toPath().resolve("build/artifactory-deploy.journal");
+    }
+
+    @AfterMethod
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    @Test
+    void testResumeWithPartialLastLine() throws IOException {
+        DeployDetails jar = createDeployDetails("lib-1.0.jar", 'a');
+        DeployDetails sources = createDeployDetails("lib-1.0-sources.jar", 'b');
+        DeployDetails pom = createDeployDetails("lib-1.0.pom", 'c');
+        try (DeployJournal journal = DeployJournal.open(journalFile, false)) {
+            journal.add(URL, jar);
+        }
+        // The previous deployment was killed while writing an entry
+        Files.write(journalFile, (StringUtils.removeEnd(URL, "/") + "\tlibs-release\torg/acme/lib/1.0/lib-1.0-sources.jar\t" +
+                StringUtils.repeat('b', 30)).getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (DeployJournal journal = DeployJournal.open(journalFile, true)) {
+            assertTrue(journal.contains(URL, jar));
+            assertFalse(journal.contains(URL, sources));
+            journal.add(URL, sources);
+        }
+
+        // The new entry starts in a new line, after the partial one
+        try (DeployJournal journal = DeployJournal.open(journalFile, true)) {
+            assertTrue(journal.contains(URL, jar));
+            assertTrue(journal.contains(URL, sources));
+            assertFalse(journal.contains(URL, pom));
+            assertFalse(journal.contains("http://other/artifactory", jar));
+            journal.complete();
+        }
+        assertFalse(Files.exists(journalFile));
+    }
+
+    @Test
+    void testNewDeploymentDiscardsJournal() throws IOException {
+        DeployDetails jar = createDeployDetails("lib-1.0.jar", 'a');
+        try (DeployJournal journal = DeployJournal.open(journalFile, false)) {
+            journal.add(URL, jar);
+        }
+        try (DeployJournal journal = DeployJournal.open(journalFile, false)) {
+            assertFalse(journal.contains(URL, jar));
+        }
+    }
+
+    private static DeployDetails createDeployDetails(String name, char sha256) {
+        return new DeployDetails.Builder()
+                .file(new File(name))
+                .targetRepository("libs-release")
+                .artifactPath("org/acme/lib/1.0/" + name)
+                .sha256(StringUtils.repeat(sha256, 64))
+                .build();
+    }
+}
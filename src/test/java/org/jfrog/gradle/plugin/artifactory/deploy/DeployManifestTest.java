@@ -0,0 +1,69 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class DeployManifestTest {
+    private static final String URL = "http://localhost:8081/artifactory/";
+    private static final Set<String> BUILD_PROPERTIES = new HashSet<>(Arrays.asList("build.name", "build.number", "build.timestamp"));
+    private File tempDir;
+    private Path manifestFile;
+
+    @BeforeMethod
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("deploy-manifest").toFile();
+        manifestFile = tempDir.toPath().resolve("build/artifactory-deploy.manifest");
+    }
+
+    @AfterMethod
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    @Test
+    void testDifferentBuildNumbers() {
+        DeployManifest manifest = DeployManifest.load(manifestFile, BUILD_PROPERTIES);
+        manifest.add(URL, createDeployDetails('a', "1", "lib"));
+        manifest.save();
+
+        // The next build has its own build number and timestamp
+        DeployManifest nextManifest = DeployManifest.load(manifestFile, BUILD_PROPERTIES);
+        assertTrue(nextManifest.contains(URL, createDeployDetails('a', "2", "lib")));
+        assertFalse(nextManifest.contains(URL, createDeployDetails('b', "2", "lib")));
+        assertFalse(nextManifest.contains(URL, createDeployDetails('a', "2", "app")));
+        assertFalse(nextManifest.contains("http://other/artifactory", createDeployDetails('a', "2", "lib")));
+    }
+
+    @Test
+    void testMissingManifest() {
+        assertFalse(DeployManifest.load(manifestFile, BUILD_PROPERTIES).contains(URL, createDeployDetails('a', "1", "lib")));
+    }
+
+    private static DeployDetails createDeployDetails(char sha256, String buildNumber, String team) {
+        return new DeployDetails.Builder()
+                .file(new File("lib-1.0.jar"))
+                .targetRepository("libs-release")
+                .artifactPath("org/acme/lib/1.0/lib-1.0.jar")
+                .sha256(StringUtils.repeat(sha256, 64))
+                .addProperty("build.name", "acme")
+                .addProperty("build.number", buildNumber)
+                .addProperty("build.timestamp", buildNumber + "000")
+                .addProperty("team", team)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package org.jfrog.gradle.plugin.artifactory.deploy;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class DeployMetricsTest {
+
+    @Test
+    void testPercentile() {
+        long[] values = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        assertEquals(DeployMetrics.percentile(values, 50), 5);
+        assertEquals(DeployMetrics.percentile(values, 95), 10);
+        assertEquals(DeployMetrics.percentile(values, 99), 10);
+        assertEquals(DeployMetrics.percentile(values, 10), 1);
+        assertEquals(DeployMetrics.percentile(new long[]{7}, 50), 7);
+        assertEquals(DeployMetrics.percentile(new long[0], 99), 0);
+    }
+}
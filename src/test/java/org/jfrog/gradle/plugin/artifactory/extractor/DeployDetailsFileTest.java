@@ -0,0 +1,95 @@
+package org.jfrog.gradle.plugin.artifactory.extractor;
+
+import org.apache.commons.io.FileUtils;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.utils.IncludeExcludeMatcher;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class DeployDetailsFileTest {
+    private File tempDir;
+
+    @BeforeMethod
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("deploy-details").toFile();
+    }
+
+    @AfterMethod
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    @Test
+    void testRoundTripInAnotherLocation() throws IOException {
+        File projectDir = new File(tempDir, "workspace/lib");
+        File jar = new File(projectDir, "build/libs/lib-1.0.jar");
+        FileUtils.writeStringToFile(jar, "content", StandardCharsets.UTF_8);
+        File deployDetailsFile = new File(projectDir, "build/artifactory/deploy-details.json");
+        Map<PublicationArtifact, GradleDeployDetails> collected = new LinkedHashMap<>();
+        addArtifact(collected, jar, "jar", "lib-1.0.jar");
+        addArtifact(collected, new File(projectDir, "build/publications/mavenJava/pom-default.xml"), "pom", "lib-1.0.pom");
+        DeployDetailsFile.write(deployDetailsFile, collected);
+
+        // The artifacts files are relative to the deploy details file
+        String content = FileUtils.readFileToString(deployDetailsFile, StandardCharsets.UTF_8);
+        assertTrue(content.contains("\"file\":\"../libs/lib-1.0.jar\""), content);
+        assertFalse(content.contains(tempDir.getName()), content);
+
+        // Restored from the build cache into another workspace
+        File restoredProjectDir = new File(tempDir, "other-workspace/lib");
+        FileUtils.copyDirectory(projectDir, restoredProjectDir);
+        Map<String, String> buildProperties = new HashMap<>();
+        buildProperties.put("build.number", "2");
+        buildProperties.put("team", "build");
+        Set<GradleDeployDetails> deployDetails = DeployDetailsFile.read(new File(restoredProjectDir, "build/artifactory/deploy-details.json"), ":lib",
+                new IncludeExcludeMatcher(null, "**/*.pom"), buildProperties);
+
+        assertEquals(deployDetails.size(), 2);
+        Iterator<GradleDeployDetails> iterator = deployDetails.iterator();
+        GradleDeployDetails jarDetails = iterator.next();
+        GradleDeployDetails pomDetails = iterator.next();
+        assertEquals(jarDetails.getPublishArtifact().getFile(), new File(restoredProjectDir, "build/libs/lib-1.0.jar").getAbsoluteFile());
+        assertEquals(jarDetails.getDeployDetails().getFile(), jarDetails.getPublishArtifact().getFile());
+        assertEquals(jarDetails.getProjectPath(), ":lib");
+        assertFalse(jarDetails.isExcluded());
+        assertTrue(pomDetails.isExcluded());
+
+        DeployDetails details = jarDetails.getDeployDetails();
+        assertEquals(details.getTargetRepository(), "libs-release");
+        assertEquals(details.getArtifactPath(), "org/acme/lib/1.0/lib-1.0.jar");
+        assertEquals(details.getSha1(), "sha1-lib-1.0.jar");
+        assertEquals(details.getSha256(), "sha256-lib-1.0.jar");
+        // The artifact's own properties override the build's properties
+        assertEquals(new ArrayList<>(details.getProperties().get("build.number")), Collections.singletonList("2"));
+        assertEquals(new ArrayList<>(details.getProperties().get("team")), Collections.singletonList("lib"));
+    }
+
+    @Test
+    void testMissingFile() throws IOException {
+        assertTrue(DeployDetailsFile.read(new File(tempDir, "missing.json"), ":lib", IncludeExcludeMatcher.NONE, Collections.emptyMap()).isEmpty());
+    }
+
+    private static void addArtifact(Map<PublicationArtifact, GradleDeployDetails> collected, File file, String extension, String name) {
+        PublishArtifactInfo artifactInfo = new PublishArtifactInfo(name, extension, extension, null, file);
+        PublicationArtifact publicationArtifact = new PublicationArtifact(artifactInfo, "mavenJava", "org/acme/lib/1.0/" + name,
+                "libs-release", Collections.singletonMap("team", "lib"), false);
+        DeployDetails deployDetails = new DeployDetails.Builder()
+                .file(file)
+                .targetRepository("libs-release")
+                .artifactPath("org/acme/lib/1.0/" + name)
+                .md5("md5-" + name)
+                .sha1("sha1-" + name)
+                .sha256("sha256-" + name)
+                .build();
+        collected.put(publicationArtifact, new GradleDeployDetails(artifactInfo, deployDetails, ":lib"));
+    }
+}
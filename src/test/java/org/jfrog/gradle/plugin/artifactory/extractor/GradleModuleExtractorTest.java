@@ -0,0 +1,59 @@
+package org.jfrog.gradle.plugin.artifactory.extractor;
+
+import org.gradle.api.artifacts.component.ComponentArtifactIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+public class GradleModuleExtractorTest {
+
+    @Test
+    void testProjectDependenciesOfIncludedBuilds() {
+        Map<String, String> projectModuleIds = new HashMap<>();
+        projectModuleIds.put("project :", "org.acme:app:1.0");
+        projectModuleIds.put("project :lib", "org.acme:lib:1.0");
+        projectModuleIds.put("project :shared", "org.other:shared:2.0");
+        projectModuleIds.put("project :shared:lib", "org.other:lib:2.0");
+
+        // The included build's projects have the same paths in their own build
+        assertEquals(GradleModuleExtractor.extractDependencyId(createArtifact(createProjectIdentifier(":", "project :shared")), projectModuleIds), "org.other:shared:2.0");
+        assertEquals(GradleModuleExtractor.extractDependencyId(createArtifact(createProjectIdentifier(":lib", "project :shared:lib")), projectModuleIds), "org.other:lib:2.0");
+        assertEquals(GradleModuleExtractor.extractDependencyId(createArtifact(createProjectIdentifier(":lib", "project :lib")), projectModuleIds), "org.acme:lib:1.0");
+    }
+
+    @Test
+    void testUnknownProjectDependency() {
+        ProjectComponentIdentifier identifier = createProjectIdentifier(":unknown", "project :unknown");
+        assertEquals(GradleModuleExtractor.extractDependencyId(createArtifact(identifier), new HashMap<>()), "project :unknown");
+    }
+
+    @Test
+    void testModuleDependency() {
+        ComponentIdentifier identifier = mock(ComponentIdentifier.class);
+        when(identifier.getDisplayName()).thenReturn("org.apache.commons:commons-lang3:3.12.0");
+        assertEquals(GradleModuleExtractor.extractDependencyId(createArtifact(identifier), new HashMap<>()), "org.apache.commons:commons-lang3:3.12.0");
+    }
+
+    private static ProjectComponentIdentifier createProjectIdentifier(String projectPath, String displayName) {
+        ProjectComponentIdentifier identifier = mock(ProjectComponentIdentifier.class);
+        when(identifier.getProjectPath()).thenReturn(projectPath);
+        when(identifier.getDisplayName()).thenReturn(displayName);
+        return identifier;
+    }
+
+    private static ResolvedArtifactResult createArtifact(ComponentIdentifier identifier) {
+        ComponentArtifactIdentifier artifactIdentifier = mock(ComponentArtifactIdentifier.class);
+        when(artifactIdentifier.getComponentIdentifier()).thenReturn(identifier);
+        ResolvedArtifactResult artifact = mock(ResolvedArtifactResult.class);
+        when(artifact.getId()).thenReturn(artifactIdentifier);
+        return artifact;
+    }
+}
@@ -6,8 +6,11 @@ import org.jfrog.build.api.builder.ModuleType;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+
 import static org.jfrog.gradle.plugin.artifactory.utils.PluginUtils.assertGradleVersionSupported;
 import static org.jfrog.gradle.plugin.artifactory.utils.PluginUtils.getModuleType;
+import static org.jfrog.gradle.plugin.artifactory.utils.PluginUtils.isAnyTaskRequested;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -55,4 +58,27 @@ public class PluginUtilsTest {
         }
     }
 
-}
\ No newline at end of file
+    @DataProvider
+    public Object[][] requestedTasksCases() {
+        return new Object[][]{
+                {new String[]{"artifactoryPublish"}, true},
+                {new String[]{"clean", ":app:artifactoryPublish"}, true},
+                {new String[]{"aP"}, true},
+                {new String[]{"artiPub"}, true},
+                {new String[]{"ARTIFACTORYPUBLISH"}, true},
+                {new String[]{"artifactoryDeploy"}, true},
+                {new String[]{"eMI"}, true},
+                {new String[]{"build", "--info"}, false},
+                {new String[]{":app:test", "--tests", "SomeTest"}, false},
+                {new String[]{"aD", "-x", "test"}, true},
+                {new String[]{"assemble"}, false},
+                {new String[]{}, false}
+        };
+    }
+
+    @Test(dataProvider = "requestedTasksCases")
+    public void testIsAnyTaskRequested(String[] requestedTasks, boolean expected) {
+        assertEquals(isAnyTaskRequested(Arrays.asList(requestedTasks), "artifactoryPublish", "extractModuleInfo", "artifactoryDeploy"), expected);
+    }
+
+}
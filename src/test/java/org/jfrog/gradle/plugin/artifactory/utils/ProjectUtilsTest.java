@@ -0,0 +1,53 @@
+package org.jfrog.gradle.plugin.artifactory.utils;
+
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.gradle.plugin.artifactory.extractor.GradleDeployDetails;
+import org.jfrog.gradle.plugin.artifactory.extractor.PublishArtifactInfo;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.jfrog.gradle.plugin.artifactory.utils.ProjectUtils.partitionIncludeExcludeDetails;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ProjectUtilsTest {
+
+    @Test
+    public void testPartitionIncludeExcludeDetails() {
+        Set<GradleDeployDetails> deployDetails = new TreeSet<>(Arrays.asList(
+                createDeployDetails("lib-1.0.jar", ":lib", false),
+                createDeployDetails("lib-1.0-sources.jar", ":lib", true),
+                createDeployDetails("lib-1.0-javadoc.jar", ":lib", false),
+                createDeployDetails("app-1.0.jar", ":app", false)));
+
+        // Filtered by the patterns' decisions, in the order of the details
+        Map<Boolean, List<GradleDeployDetails>> partitioned = partitionIncludeExcludeDetails(":lib", true, deployDetails);
+        assertEquals(getNames(partitioned.get(true)), Arrays.asList("lib-1.0-javadoc.jar", "lib-1.0.jar"));
+        assertEquals(getNames(partitioned.get(false)), Arrays.asList("lib-1.0-sources.jar"));
+
+        // Not filtered, all the project's details are included
+        partitioned = partitionIncludeExcludeDetails(":lib", false, deployDetails);
+        assertEquals(getNames(partitioned.get(true)), Arrays.asList("lib-1.0-javadoc.jar", "lib-1.0-sources.jar", "lib-1.0.jar"));
+        assertTrue(partitioned.get(false).isEmpty());
+    }
+
+    private static GradleDeployDetails createDeployDetails(String name, String projectPath, boolean excluded) {
+        DeployDetails deployDetails = new DeployDetails.Builder()
+                .targetRepository("libs-release")
+                .artifactPath("org/acme/lib/1.0/" + name)
+                .build();
+        PublishArtifactInfo artifactInfo = new PublishArtifactInfo(name, "jar", "jar", null, new File(name));
+        return new GradleDeployDetails(artifactInfo, deployDetails, projectPath, excluded);
+    }
+
+    private static List<String> getNames(List<GradleDeployDetails> deployDetails) {
+        return deployDetails.stream().map(details -> details.getPublishArtifact().getName()).collect(Collectors.toList());
+    }
+}